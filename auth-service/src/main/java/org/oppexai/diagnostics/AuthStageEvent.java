@@ -0,0 +1,50 @@
+package org.oppexai.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Duration of one stage of the auth pipeline (login lookup, hash verify, sign, createNewUser).
+ * Costs a timestamp when no recording is running; the email is only hashed if the event is kept.
+ */
+@Name("org.oppexai.AuthStage")
+@Label("Auth Stage")
+@Category({"Oppex AI", "Auth"})
+@Description("Duration of an authentication pipeline stage")
+@StackTrace(false)
+public class AuthStageEvent extends Event {
+
+    public static final String LOGIN_LOOKUP = "login.lookup";
+    public static final String LOGIN_HASH_VERIFY = "login.hashVerify";
+    public static final String LOGIN_SIGN = "login.sign";
+    public static final String CREATE_USER = "signup.createNewUser";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Email Hash")
+    String emailHash;
+
+    @Label("Success")
+    boolean success;
+
+    public static AuthStageEvent start(String stage) {
+        AuthStageEvent event = new AuthStageEvent();
+        event.stage = stage;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String email, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.emailHash = EmailHash.of(email);
+            this.success = success;
+            commit();
+        }
+    }
+}
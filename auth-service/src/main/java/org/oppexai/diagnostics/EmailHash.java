@@ -0,0 +1,47 @@
+package org.oppexai.diagnostics;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Pseudonymous email identity for diagnostics.
+ * Keyed with a random per-process secret, so events from one recording can be
+ * correlated by user but the hash cannot be reversed with a dictionary of addresses.
+ */
+public final class EmailHash {
+
+    private static final byte[] KEY = new byte[32];
+
+    static {
+        new SecureRandom().nextBytes(KEY);
+    }
+
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(KEY, "HmacSHA256"));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    });
+
+    private EmailHash() {
+    }
+
+    /**
+     * @return 16 hex characters, or null for a null email
+     */
+    public static String of(String email) {
+        if (email == null) {
+            return null;
+        }
+        byte[] digest = MAC.get().doFinal(email.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest, 0, 8);
+    }
+}
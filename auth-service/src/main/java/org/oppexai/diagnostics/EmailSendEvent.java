@@ -0,0 +1,44 @@
+package org.oppexai.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Duration of one call to the email provider.
+ */
+@Name("org.oppexai.EmailSend")
+@Label("Email Send")
+@Category({"Oppex AI", "Email"})
+@Description("Duration of a transactional email send")
+@StackTrace(false)
+public class EmailSendEvent extends Event {
+
+    @Label("Kind")
+    String kind;
+
+    @Label("Email Hash")
+    String emailHash;
+
+    @Label("Success")
+    boolean success;
+
+    public static EmailSendEvent start(String kind) {
+        EmailSendEvent event = new EmailSendEvent();
+        event.kind = kind;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String email, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.emailHash = EmailHash.of(email);
+            this.success = success;
+            commit();
+        }
+    }
+}
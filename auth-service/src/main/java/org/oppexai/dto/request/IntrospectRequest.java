@@ -0,0 +1,33 @@
+package org.oppexai.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class IntrospectRequest {
+
+    @NotEmpty(message = "At least one token is required")
+    private List<String> tokens;
+
+    public IntrospectRequest() {
+    }
+
+    public IntrospectRequest(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    @Override
+    public String toString() {
+        return "IntrospectRequest{" +
+                "tokens=" + (tokens != null ? tokens.size() : 0) +
+                '}';
+    }
+}
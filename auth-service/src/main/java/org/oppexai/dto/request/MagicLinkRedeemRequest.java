@@ -0,0 +1,33 @@
+package org.oppexai.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class MagicLinkRedeemRequest {
+
+    @NotBlank(message = "Token is required")
+    @Size(max = 255, message = "Token must be less than 255 characters")
+    private String token;
+
+    public MagicLinkRedeemRequest() {
+    }
+
+    public MagicLinkRedeemRequest(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    @Override
+    public String toString() {
+        return "MagicLinkRedeemRequest{" +
+                "token='[PROTECTED]'" +
+                '}';
+    }
+}
@@ -0,0 +1,33 @@
+package org.oppexai.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+
+public class ResendVerificationRequest {
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    private String email;
+
+    public ResendVerificationRequest() {
+    }
+
+    public ResendVerificationRequest(String email) {
+        this.email = email;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    @Override
+    public String toString() {
+        return "ResendVerificationRequest{" +
+                "email='" + email + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package org.oppexai.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One user record of a bulk import (NDJSON line or CSV row).
+ * The password is carried as an existing BCrypt hash and is stored as-is.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserImportRow {
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    @Size(max = 255, message = "Email must be less than 255 characters")
+    private String email;
+
+    @NotBlank(message = "Password hash is required")
+    @Pattern(
+            regexp = "^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$",
+            message = "Password hash must be a BCrypt hash"
+    )
+    private String passwordHash;
+
+    private boolean isVerified;
+
+    public UserImportRow() {
+    }
+
+    public UserImportRow(String email, String passwordHash, boolean isVerified) {
+        this.email = email;
+        this.passwordHash = passwordHash;
+        this.isVerified = isVerified;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
+
+    public boolean getIsVerified() {
+        return isVerified;
+    }
+
+    public void setIsVerified(boolean isVerified) {
+        this.isVerified = isVerified;
+    }
+
+    @Override
+    public String toString() {
+        return "UserImportRow{" +
+                "email='" + email + '\'' +
+                ", passwordHash='[PROTECTED]'" +
+                ", isVerified=" + isVerified +
+                '}';
+    }
+}
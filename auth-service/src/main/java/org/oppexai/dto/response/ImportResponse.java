@@ -0,0 +1,76 @@
+package org.oppexai.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResponse {
+
+    private long processed;
+    private long imported;
+    private long conflicts;
+    private long rejected;
+    private long durationMs;
+    private List<String> errors = new ArrayList<>();
+
+    public ImportResponse() {
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getConflicts() {
+        return conflicts;
+    }
+
+    public void setConflicts(long conflicts) {
+        this.conflicts = conflicts;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResponse{" +
+                "processed=" + processed +
+                ", imported=" + imported +
+                ", conflicts=" + conflicts +
+                ", rejected=" + rejected +
+                ", durationMs=" + durationMs +
+                '}';
+    }
+}
@@ -0,0 +1,30 @@
+package org.oppexai.dto.response;
+
+import java.util.List;
+
+public class IntrospectResponse {
+
+    private List<TokenIntrospection> results;
+
+    public IntrospectResponse() {
+    }
+
+    public IntrospectResponse(List<TokenIntrospection> results) {
+        this.results = results;
+    }
+
+    public List<TokenIntrospection> getResults() {
+        return results;
+    }
+
+    public void setResults(List<TokenIntrospection> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return "IntrospectResponse{" +
+                "results=" + (results != null ? results.size() : 0) +
+                '}';
+    }
+}
@@ -0,0 +1,53 @@
+package org.oppexai.dto.response;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constant {@link MessageResponse} bodies encoded to JSON bytes once, at class load.
+ * Returning these skips entity serialization entirely; the byte[] is written as-is.
+ */
+public final class PreEncodedResponses {
+
+    public static final byte[] SIGNUP_SUCCESS =
+            encode("Signup successful! Please check your email to verify your account.", true);
+    public static final byte[] EMAIL_ALREADY_REGISTERED = encode("Email already registered", false);
+    public static final byte[] EMAIL_DOMAIN_NOT_ALLOWED =
+            encode("Disposable email addresses are not allowed. Please use a permanent address.", false);
+    public static final byte[] PASSWORD_BREACHED =
+            encode("This password has appeared in a data breach. Please choose a different one.", false);
+    public static final byte[] SIGNUP_FAILED = encode("Signup failed. Please try again.", false);
+
+    public static final byte[] INVALID_CREDENTIALS = encode("Invalid email or password", false);
+    public static final byte[] LOGIN_FAILED = encode("Login failed. Please try again.", false);
+
+    public static final byte[] MAGIC_LINK_SENT =
+            encode("If an account exists for this address, a sign-in link has been sent.", true);
+    public static final byte[] INVALID_MAGIC_LINK = encode("Sign-in link is invalid or has expired", false);
+    public static final byte[] MAGIC_LINK_DISABLED = encode("Sign-in links are not enabled", false);
+
+    public static final byte[] LOGOUT_SUCCESS = encode("Logged out successfully", true);
+
+    public static final byte[] RESEND_SUCCESS =
+            encode("If an unverified account exists for this address, a verification email has been sent.", true);
+    public static final byte[] RESEND_FAILED = encode("Could not resend verification email. Please try again.", false);
+
+    public static final byte[] INVALID_IDEMPOTENCY_KEY = encode("Idempotency-Key must be at most 255 characters", false);
+    public static final byte[] IDEMPOTENCY_KEY_REUSED =
+            encode("Idempotency-Key was already used for a different request", false);
+    public static final byte[] IDEMPOTENT_REQUEST_IN_PROGRESS =
+            encode("A request with this Idempotency-Key is still in progress", false);
+    public static final byte[] OVERLOADED = encode("Service is busy. Please retry shortly.", false);
+    public static final byte[] REQUEST_FAILED = encode("Request failed. Please try again.", false);
+
+    private PreEncodedResponses() {
+    }
+
+    /**
+     * Same shape and field order as Jackson's output for {@link MessageResponse}.
+     */
+    static byte[] encode(String message, boolean success) {
+        String escaped = message.replace("\\", "\\\\").replace("\"", "\\\"");
+        return ("{\"message\":\"" + escaped + "\",\"success\":" + success + "}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,82 @@
+package org.oppexai.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result for one token of an introspection batch. Claims are only present when active.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospection {
+
+    private static final TokenIntrospection INACTIVE = new TokenIntrospection(false, null, null, null, null);
+
+    private boolean active;
+    private String email;
+    private Long userId;
+    private Boolean isVerified;
+    private Long exp;
+
+    public TokenIntrospection() {
+    }
+
+    public TokenIntrospection(boolean active, String email, Long userId, Boolean isVerified, Long exp) {
+        this.active = active;
+        this.email = email;
+        this.userId = userId;
+        this.isVerified = isVerified;
+        this.exp = exp;
+    }
+
+    public static TokenIntrospection inactive() {
+        return INACTIVE;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Boolean getIsVerified() {
+        return isVerified;
+    }
+
+    public void setIsVerified(Boolean isVerified) {
+        this.isVerified = isVerified;
+    }
+
+    public Long getExp() {
+        return exp;
+    }
+
+    public void setExp(Long exp) {
+        this.exp = exp;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenIntrospection{" +
+                "active=" + active +
+                ", email='" + email + '\'' +
+                ", exp=" + exp +
+                '}';
+    }
+}
@@ -0,0 +1,50 @@
+package org.oppexai.dto.response;
+
+public class UserInfoResponse {
+
+    private Long userId;
+    private String email;
+    private Boolean isVerified;
+
+    public UserInfoResponse() {
+    }
+
+    public UserInfoResponse(Long userId, String email, Boolean isVerified) {
+        this.userId = userId;
+        this.email = email;
+        this.isVerified = isVerified;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Boolean getIsVerified() {
+        return isVerified;
+    }
+
+    public void setIsVerified(Boolean isVerified) {
+        this.isVerified = isVerified;
+    }
+
+    @Override
+    public String toString() {
+        return "UserInfoResponse{" +
+                "userId=" + userId +
+                ", email='" + email + '\'' +
+                ", isVerified=" + isVerified +
+                '}';
+    }
+}
@@ -0,0 +1,116 @@
+package org.oppexai.health;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+import org.jboss.logging.Logger;
+import org.oppexai.service.PasswordHashExecutor;
+import org.oppexai.util.PasswordUtil;
+
+/**
+ * Reports the instance as not ready while it is saturated, so the load balancer
+ * shifts traffic before latency collapses.
+ * Load is sampled periodically; a signal must cross its high watermark to go DOWN
+ * and fall back below its low watermark before the instance reports UP again.
+ */
+@Readiness
+@ApplicationScoped
+public class LoadReadinessCheck implements HealthCheck {
+
+    private static final Logger LOG = Logger.getLogger(LoadReadinessCheck.class);
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    PasswordHashExecutor passwordHashExecutor;
+
+    @ConfigProperty(name = "app.readiness.hashing-backlog.high", defaultValue = "32")
+    int hashingHigh;
+
+    @ConfigProperty(name = "app.readiness.hashing-backlog.low", defaultValue = "16")
+    int hashingLow;
+
+    @ConfigProperty(name = "app.readiness.worker-queue.high", defaultValue = "100")
+    double workerQueueHigh;
+
+    @ConfigProperty(name = "app.readiness.worker-queue.low", defaultValue = "20")
+    double workerQueueLow;
+
+    @ConfigProperty(name = "app.readiness.pool-wait-ms.high", defaultValue = "200")
+    double poolWaitHigh;
+
+    @ConfigProperty(name = "app.readiness.pool-wait-ms.low", defaultValue = "50")
+    double poolWaitLow;
+
+    private volatile boolean saturated;
+    private volatile int hashingBacklog;
+    private volatile double workerQueue;
+    private volatile double poolWaitMs;
+
+    private long lastAcquireCount;
+    private long lastBlockingTimeMs;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("load")
+                .status(!saturated)
+                .withData("hashingBacklog", hashingBacklog)
+                .withData("workerQueue", (long) workerQueue)
+                .withData("poolWaitMs", (long) poolWaitMs)
+                .build();
+    }
+
+    @Scheduled(every = "{app.readiness.sample-interval}")
+    void sample() {
+        hashingBacklog = PasswordUtil.hashingInFlight() + passwordHashExecutor.getQueued();
+        workerQueue = workerQueueSize();
+        poolWaitMs = recentPoolWaitMs();
+
+        boolean wasSaturated = saturated;
+        if (wasSaturated) {
+            saturated = hashingBacklog > hashingLow || workerQueue > workerQueueLow || poolWaitMs > poolWaitLow;
+        } else {
+            saturated = hashingBacklog >= hashingHigh || workerQueue >= workerQueueHigh || poolWaitMs >= poolWaitHigh;
+        }
+
+        if (saturated != wasSaturated) {
+            LOG.warnf("Readiness %s (hashingBacklog=%d, workerQueue=%.0f, poolWaitMs=%.1f)",
+                    saturated ? "DOWN" : "UP", hashingBacklog, workerQueue, poolWaitMs);
+        }
+    }
+
+    private double workerQueueSize() {
+        return registry.find("worker.pool.queue.size").gauges().stream()
+                .mapToDouble(Gauge::value)
+                .filter(value -> !Double.isNaN(value))
+                .sum();
+    }
+
+    /**
+     * Average time spent waiting for a connection by the acquisitions since the last sample.
+     */
+    private double recentPoolWaitMs() {
+        AgroalDataSourceMetrics metrics = dataSource.getMetrics();
+        long acquireCount = metrics.acquireCount();
+        long blockingTimeMs = metrics.blockingTimeTotal().toMillis();
+
+        long acquired = acquireCount - lastAcquireCount;
+        long blocked = blockingTimeMs - lastBlockingTimeMs;
+        lastAcquireCount = acquireCount;
+        lastBlockingTimeMs = blockingTimeMs;
+
+        return acquired > 0 ? (double) blocked / acquired : 0;
+    }
+}
@@ -0,0 +1,27 @@
+package org.oppexai.health;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+import org.oppexai.service.WarmupService;
+
+/**
+ * Keeps the instance out of rotation until the startup warm-up has finished.
+ */
+@Readiness
+@ApplicationScoped
+public class WarmupReadinessCheck implements HealthCheck {
+
+    @Inject
+    WarmupService warmupService;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("warmup")
+                .status(warmupService.isComplete())
+                .withData("durationMs", warmupService.getDurationMs())
+                .build();
+    }
+}
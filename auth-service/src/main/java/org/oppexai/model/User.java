@@ -5,24 +5,38 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.Instant;
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@NamedQuery(name = User.FIND_BY_VERIFICATION_TOKEN, query = "from User u where u.verificationToken = :token")
+@NamedQuery(name = User.EXISTS_BY_EMAIL, query = "select 1 from User u where u.email = :email")
 @Table(name = "users", indexes = {
         @Index(name = "idx_users_email", columnList = "email"),
         @Index(name = "idx_users_verification_token", columnList = "verification_token"),
-        @Index(name = "idx_users_is_verified", columnList = "is_verified")
+        @Index(name = "idx_users_is_verified", columnList = "is_verified"),
+        @Index(name = "idx_users_magic_link_digest", columnList = "magic_link_digest")
 })
 public class User {
 
+    public static final String FIND_BY_VERIFICATION_TOKEN = "User.findByVerificationToken";
+    public static final String EXISTS_BY_EMAIL = "User.existsByEmail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id", nullable = false)
     private Long id;
 
+    @NaturalId
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
     @Size(max = 255, message = "Email must be less than 255 characters")
@@ -43,6 +57,29 @@ public class User {
     @Column(name = "verification_token", length = 255)
     private String verificationToken;
 
+    @NotNull
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    private Long tokenVersion = 0L;
+
+    // Login activity is written only by the write-behind flush, never by entity updates
+    @Column(name = "last_login_at", updatable = false)
+    private Instant lastLoginAt;
+
+    @ColumnDefault("0")
+    @Column(name = "failed_login_attempts", nullable = false, updatable = false)
+    private int failedLoginAttempts;
+
+    @Column(name = "locked_until", updatable = false)
+    private Instant lockedUntil;
+
+    // Sign-in link state is issued and consumed with single UPDATE statements, never by entity updates
+    @Column(name = "magic_link_digest", length = 64, insertable = false, updatable = false)
+    private String magicLinkDigest;
+
+    @Column(name = "magic_link_expires_at", insertable = false, updatable = false)
+    private Instant magicLinkExpiresAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -55,6 +92,9 @@ public class User {
         if (isVerified == null) {
             isVerified = false;
         }
+        if (tokenVersion == null) {
+            tokenVersion = 0L;
+        }
     }
 
     @PreUpdate
@@ -71,6 +111,16 @@ public class User {
         this.isVerified = false;
     }
 
+    /**
+     * Projection constructor used by the export stream; never carries the password hash.
+     */
+    public User(Long id, String email, Boolean isVerified, Instant createdAt) {
+        this.id = id;
+        this.email = email;
+        this.isVerified = isVerified;
+        this.createdAt = createdAt;
+    }
+
 
     public Long getId() {
         return id;
@@ -112,6 +162,61 @@ public class User {
         this.verificationToken = verificationToken;
     }
 
+    public Long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    /**
+     * Mark a change to user state that other nodes and issued tokens must observe.
+     */
+    public void bumpTokenVersion() {
+        tokenVersion = (tokenVersion == null ? 0L : tokenVersion) + 1;
+    }
+
+    public Instant getLastLoginAt() {
+        return lastLoginAt;
+    }
+
+    public void setLastLoginAt(Instant lastLoginAt) {
+        this.lastLoginAt = lastLoginAt;
+    }
+
+    public int getFailedLoginAttempts() {
+        return failedLoginAttempts;
+    }
+
+    public void setFailedLoginAttempts(int failedLoginAttempts) {
+        this.failedLoginAttempts = failedLoginAttempts;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(Instant lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public String getMagicLinkDigest() {
+        return magicLinkDigest;
+    }
+
+    public void setMagicLinkDigest(String magicLinkDigest) {
+        this.magicLinkDigest = magicLinkDigest;
+    }
+
+    public Instant getMagicLinkExpiresAt() {
+        return magicLinkExpiresAt;
+    }
+
+    public void setMagicLinkExpiresAt(Instant magicLinkExpiresAt) {
+        this.magicLinkExpiresAt = magicLinkExpiresAt;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
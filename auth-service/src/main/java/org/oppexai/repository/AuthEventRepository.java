@@ -0,0 +1,167 @@
+package org.oppexai.repository;
+
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import org.oppexai.service.AuthEvent;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * JDBC access to auth_events, a table range-partitioned by month on occurred_at.
+ * Hibernate's schema generation cannot declare partitioned tables, so the parent
+ * table and its partitions are created here.
+ */
+@ApplicationScoped
+public class AuthEventRepository {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO auth_events (occurred_at, event_type, success, email, user_id, detail) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?)";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    public void createTableIfMissing() {
+        execute("CREATE TABLE IF NOT EXISTS auth_events ("
+                        + "id BIGINT GENERATED ALWAYS AS IDENTITY, "
+                        + "occurred_at TIMESTAMPTZ NOT NULL, "
+                        + "event_type VARCHAR(32) NOT NULL, "
+                        + "success BOOLEAN NOT NULL, "
+                        + "email VARCHAR(255), "
+                        + "user_id BIGINT, "
+                        + "detail VARCHAR(64), "
+                        + "PRIMARY KEY (id, occurred_at)"
+                        + ") PARTITION BY RANGE (occurred_at)",
+                "CREATE INDEX IF NOT EXISTS auth_events_email_idx ON auth_events (email, occurred_at)",
+                // Catches rows outside the pre-created months instead of failing the batch
+                "CREATE TABLE IF NOT EXISTS auth_events_default PARTITION OF auth_events DEFAULT");
+    }
+
+    /**
+     * Creates the partition for the month. Rows that already fell into the DEFAULT partition
+     * for that month would make a plain CREATE ... PARTITION OF fail, so the table is created
+     * detached, those rows are moved into it and it is then attached, all in one transaction.
+     * @return rows moved out of the DEFAULT partition, or -1 if the partition already existed
+     */
+    public long createPartitionIfMissing(YearMonth month) {
+        String name = "auth_events_" + month.format(PARTITION_SUFFIX);
+        String from = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+        String to = month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+
+        try (Connection connection = dataSource.getConnection()) {
+            if (exists(connection, name)) {
+                return -1;
+            }
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Keep new rows for the month out of DEFAULT until the partition is attached
+                statement.execute("LOCK TABLE auth_events_default IN SHARE ROW EXCLUSIVE MODE");
+                statement.execute("CREATE TABLE " + name
+                        + " (LIKE auth_events INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+                long moved = statement.executeUpdate("WITH moved AS (DELETE FROM auth_events_default"
+                        + " WHERE occurred_at >= '" + from + "' AND occurred_at < '" + to + "' RETURNING *)"
+                        + " INSERT INTO " + name + " SELECT * FROM moved");
+                statement.execute("ALTER TABLE auth_events ATTACH PARTITION " + name
+                        + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+                connection.commit();
+                return moved;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to create partition " + name, e);
+        }
+    }
+
+    private static boolean exists(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT to_regclass(?) IS NOT NULL")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Writes the events with one multi-row INSERT.
+     */
+    public void insertBatch(List<AuthEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + events.size() * (ROW.length() + 2))
+                .append(INSERT_PREFIX);
+        for (int i = 0; i < events.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(ROW);
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (AuthEvent event : events) {
+                statement.setTimestamp(index++, Timestamp.from(event.getOccurredAt()));
+                statement.setString(index++, event.getType().name());
+                statement.setBoolean(index++, event.isSuccess());
+                statement.setString(index++, event.getEmail());
+                if (event.getUserId() != null) {
+                    statement.setLong(index++, event.getUserId());
+                } else {
+                    statement.setNull(index++, Types.BIGINT);
+                }
+                statement.setString(index++, event.getDetail());
+            }
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to write " + events.size() + " auth events", e);
+        }
+    }
+
+    /**
+     * Strip email and user id from the events of deleted accounts, keeping the rows for aggregate stats.
+     * Every event that has a user id also has the email, so matching on email alone is enough,
+     * and bounding occurred_at by the accounts' creation prunes older partitions and lets each
+     * remaining one use auth_events_email_idx. Runs on the caller's transaction when there is one.
+     */
+    public int anonymize(List<String> emails, Instant since) {
+        if (emails.isEmpty()) {
+            return 0;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE auth_events SET email = NULL, user_id = NULL WHERE email = ANY (?) AND occurred_at >= ?")) {
+            statement.setArray(1, connection.createArrayOf("varchar", emails.toArray()));
+            statement.setTimestamp(2, Timestamp.from(since));
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to anonymize auth events", e);
+        }
+    }
+
+    private void execute(String... statements) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Failed to prepare auth_events table", e);
+        }
+    }
+}
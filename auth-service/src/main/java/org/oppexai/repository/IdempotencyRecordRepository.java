@@ -0,0 +1,20 @@
+package org.oppexai.repository;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.oppexai.model.IdempotencyRecord;
+
+import java.time.Instant;
+import java.util.Collection;
+
+@ApplicationScoped
+public class IdempotencyRecordRepository implements PanacheRepositoryBase<IdempotencyRecord, String> {
+
+    public long deleteByFingerprints(Collection<String> fingerprints) {
+        return fingerprints.isEmpty() ? 0 : delete("fingerprint in ?1", fingerprints);
+    }
+
+    public long deleteExpired(Instant now) {
+        return delete("expiresAt < ?1", now);
+    }
+}
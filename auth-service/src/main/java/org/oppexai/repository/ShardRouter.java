@@ -0,0 +1,137 @@
+package org.oppexai.repository;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.arc.Arc;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maps users to shards by a stable hash of the normalized email.
+ * Uses jump consistent hashing, so growing from N to N+1 shards only moves ~1/(N+1)
+ * of the users, all of them onto the new shard.
+ */
+@ApplicationScoped
+public class ShardRouter {
+
+    public static final String DEFAULT_DATASOURCE = "<default>";
+
+    /**
+     * User ids carry the shard that created them above this bit, so each shard can keep its own
+     * sequence and ids stay globally unique. Shard 0 ids are plain sequence values, which keeps
+     * the ids issued before sharding valid; 40 bits leave room for 8192 shards within 2^53.
+     */
+    public static final int SHARD_ID_SHIFT = 40;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    @ConfigProperty(name = "app.sharding.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.sharding.datasources", defaultValue = DEFAULT_DATASOURCE)
+    List<String> datasourceNames;
+
+    private AgroalDataSource[] dataSources;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        dataSources = new AgroalDataSource[datasourceNames.size()];
+        for (int i = 0; i < dataSources.length; i++) {
+            String name = datasourceNames.get(i);
+            dataSources[i] = DEFAULT_DATASOURCE.equals(name)
+                    ? Arc.container().instance(AgroalDataSource.class).get()
+                    : Arc.container().instance(AgroalDataSource.class, new DataSource.DataSourceLiteral(name)).get();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int shardCount() {
+        return dataSources.length;
+    }
+
+    public AgroalDataSource dataSource(int shard) {
+        return dataSources[shard];
+    }
+
+    public int shardFor(String email) {
+        return shardFor(email, shardCount());
+    }
+
+    /**
+     * Prefix a verification token with the owning shard ("2.uuid") so verification
+     * can go straight to that shard. Tokens are left untouched when sharding is off.
+     */
+    public String encodeToken(String email, String token) {
+        return enabled ? shardFor(email) + "." + token : token;
+    }
+
+    /**
+     * @return shard encoded in the token, or -1 for legacy/unknown tokens
+     */
+    public int shardForToken(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return -1;
+        }
+        try {
+            int shard = Integer.parseInt(token, 0, dot, 10);
+            return shard < shardCount() ? shard : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public static long idBase(int shard) {
+        return (long) shard << SHARD_ID_SHIFT;
+    }
+
+    /**
+     * Shard that created the id. A rebalance keeps ids, so the user may live elsewhere by now.
+     */
+    public static int originShard(long id) {
+        return (int) (id >>> SHARD_ID_SHIFT);
+    }
+
+    public static int shardFor(String email, int shards) {
+        return jumpConsistentHash(fnv1a64(normalize(email)), shards);
+    }
+
+    public static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static long fnv1a64(String value) {
+        long hash = FNV_OFFSET;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Lamping & Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm".
+     */
+    static int jumpConsistentHash(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+}
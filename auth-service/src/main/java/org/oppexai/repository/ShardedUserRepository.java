@@ -0,0 +1,236 @@
+package org.oppexai.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import org.oppexai.model.User;
+import org.oppexai.service.LoginActivity;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC access to the users table of a single shard.
+ * Used by {@link UserRepository} when sharding is enabled; every operation
+ * touches exactly one shard, picked from the email or the verification token.
+ */
+@ApplicationScoped
+public class ShardedUserRepository {
+
+    static final String COLUMNS =
+            "id, email, password_hash, is_verified, verification_token, token_version, " +
+                    "last_login_at, failed_login_attempts, locked_until, created_at, updated_at";
+
+    @Inject
+    ShardRouter router;
+
+    public Optional<User> findByEmail(String email) {
+        return findOne(router.shardFor(email), "SELECT " + COLUMNS + " FROM users WHERE email = ?", email);
+    }
+
+    public Optional<User> findByVerificationToken(String token) {
+        String sql = "SELECT " + COLUMNS + " FROM users WHERE verification_token = ?";
+        int shard = router.shardForToken(token);
+        if (shard >= 0) {
+            Optional<User> user = findOne(shard, sql, token);
+            if (user.isPresent()) {
+                return user;
+            }
+        }
+        // Legacy tokens carry no shard, and a rebalance may have moved the user since the token was issued
+        for (int i = 0; i < router.shardCount(); i++) {
+            if (i == shard) {
+                continue;
+            }
+            Optional<User> user = findOne(i, sql, token);
+            if (user.isPresent()) {
+                return user;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Looks on the shard that created the id first, then on the others for users moved by a rebalance.
+     */
+    public Optional<User> findById(long id) {
+        String sql = "SELECT " + COLUMNS + " FROM users WHERE id = ?";
+        int origin = ShardRouter.originShard(id);
+        if (origin < router.shardCount()) {
+            Optional<User> user = findOne(origin, sql, id);
+            if (user.isPresent()) {
+                return user;
+            }
+        }
+        for (int i = 0; i < router.shardCount(); i++) {
+            if (i == origin) {
+                continue;
+            }
+            Optional<User> user = findOne(i, sql, id);
+            if (user.isPresent()) {
+                return user;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean existsByEmail(String email) {
+        try (Connection connection = router.dataSource(router.shardFor(email)).getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM users WHERE email = ? LIMIT 1")) {
+            statement.setString(1, email);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    /**
+     * Insert a new user (id == null) or write back the mutable columns of an existing one.
+     */
+    public void save(User user) {
+        if (user.getId() == null) {
+            insert(user);
+        } else {
+            update(user);
+        }
+    }
+
+    private void insert(User user) {
+        // The id comes from this shard's own sequence, offset by the shard so it is unique across shards
+        String sql = "INSERT INTO users (id, email, password_hash, is_verified, verification_token, token_version, created_at) " +
+                "VALUES (? + nextval(pg_get_serial_sequence('users', 'id')), ?, ?, ?, ?, ?, ?)";
+        Instant now = Instant.now();
+        int shard = router.shardFor(user.getEmail());
+        try (Connection connection = router.dataSource(shard).getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            statement.setLong(1, ShardRouter.idBase(shard));
+            statement.setString(2, user.getEmail());
+            statement.setString(3, user.getPasswordHash());
+            statement.setBoolean(4, Boolean.TRUE.equals(user.getIsVerified()));
+            statement.setString(5, user.getVerificationToken());
+            statement.setLong(6, user.getTokenVersion() != null ? user.getTokenVersion() : 0L);
+            statement.setTimestamp(7, Timestamp.from(now));
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                if (keys.next()) {
+                    user.setId(keys.getLong(1));
+                }
+            }
+            user.setCreatedAt(now);
+        } catch (SQLException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    private void update(User user) {
+        String sql = "UPDATE users SET password_hash = ?, is_verified = ?, verification_token = ?, token_version = ?, " +
+                "updated_at = ? WHERE email = ?";
+        Instant now = Instant.now();
+        try (Connection connection = router.dataSource(router.shardFor(user.getEmail())).getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, user.getPasswordHash());
+            statement.setBoolean(2, Boolean.TRUE.equals(user.getIsVerified()));
+            statement.setString(3, user.getVerificationToken());
+            statement.setLong(4, user.getTokenVersion() != null ? user.getTokenVersion() : 0L);
+            statement.setTimestamp(5, Timestamp.from(now));
+            statement.setString(6, user.getEmail());
+            statement.executeUpdate();
+            user.setUpdatedAt(now);
+        } catch (SQLException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    /**
+     * Write back coalesced login activity, one JDBC batch per shard.
+     */
+    public void updateLoginActivity(List<LoginActivity> activities) {
+        Map<Integer, List<LoginActivity>> byShard = new HashMap<>();
+        for (LoginActivity activity : activities) {
+            byShard.computeIfAbsent(router.shardFor(activity.getEmail()), shard -> new ArrayList<>()).add(activity);
+        }
+        for (Map.Entry<Integer, List<LoginActivity>> entry : byShard.entrySet()) {
+            try (Connection connection = router.dataSource(entry.getKey()).getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         UserRepository.UPDATE_LOGIN_ACTIVITY + "email = ?")) {
+                for (LoginActivity activity : entry.getValue()) {
+                    UserRepository.bindLoginActivity(statement, activity);
+                    statement.setString(4, activity.getEmail());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            } catch (SQLException e) {
+                throw new PersistenceException(e);
+            }
+        }
+    }
+
+    public void storeMagicLink(String email, String digest, Instant expiresAt) {
+        try (Connection connection = router.dataSource(router.shardFor(email)).getConnection();
+             PreparedStatement statement = connection.prepareStatement(UserRepository.STORE_MAGIC_LINK + "email = ?")) {
+            statement.setString(1, digest);
+            statement.setTimestamp(2, Timestamp.from(expiresAt));
+            statement.setString(3, email);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    /**
+     * Links always carry their shard; one that no longer matches (e.g. after a rebalance) simply fails.
+     */
+    public Optional<User> consumeMagicLink(String digest, String token) {
+        int shard = router.shardForToken(token);
+        if (shard < 0) {
+            return Optional.empty();
+        }
+        try (Connection connection = router.dataSource(shard).getConnection()) {
+            return UserRepository.consumeMagicLink(connection, digest);
+        } catch (SQLException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    private Optional<User> findOne(int shard, String sql, Object param) {
+        try (Connection connection = router.dataSource(shard).getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, param);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? Optional.of(map(rs)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    static User map(ResultSet rs) throws SQLException {
+        User user = new User(rs.getString("email"), rs.getString("password_hash"));
+        user.setId(rs.getLong("id"));
+        user.setIsVerified(rs.getBoolean("is_verified"));
+        user.setVerificationToken(rs.getString("verification_token"));
+        user.setTokenVersion(rs.getLong("token_version"));
+        Timestamp lastLoginAt = rs.getTimestamp("last_login_at");
+        user.setLastLoginAt(lastLoginAt != null ? lastLoginAt.toInstant() : null);
+        user.setFailedLoginAttempts(rs.getInt("failed_login_attempts"));
+        Timestamp lockedUntil = rs.getTimestamp("locked_until");
+        user.setLockedUntil(lockedUntil != null ? lockedUntil.toInstant() : null);
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        user.setCreatedAt(createdAt != null ? createdAt.toInstant() : null);
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        user.setUpdatedAt(updatedAt != null ? updatedAt.toInstant() : null);
+        return user;
+    }
+}
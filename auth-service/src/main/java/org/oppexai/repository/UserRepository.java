@@ -1,25 +1,243 @@
 package org.oppexai.repository;
 
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.LockModeType;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 import org.oppexai.model.User;
+import org.oppexai.service.LoginActivity;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
 public class UserRepository implements PanacheRepository<User> {
 
+    public static final String USER_STATE_CHANNEL = "user_state";
 
+    static final String UPDATE_LOGIN_ACTIVITY =
+            "UPDATE users SET last_login_at = ?, failed_login_attempts = ?, locked_until = ? WHERE ";
+
+    static final String STORE_MAGIC_LINK =
+            "UPDATE users SET magic_link_digest = ?, magic_link_expires_at = ? WHERE ";
+
+    static final String CONSUME_MAGIC_LINK =
+            "UPDATE users SET magic_link_digest = NULL, magic_link_expires_at = NULL " +
+                    "WHERE magic_link_digest = ? AND magic_link_expires_at > ? RETURNING " + ShardedUserRepository.COLUMNS;
+
+    @Inject
+    ShardRouter shardRouter;
+
+    @Inject
+    ShardedUserRepository shardedUserRepository;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    /**
+     * Resolve a user through the natural-id cache (email -> id) and then the
+     * entity cache, so repeated lookups for the same email skip the database.
+     */
     public Optional<User> findByEmail(String email) {
-        return find("email", email).firstResultOptional();
+        if (shardRouter.isEnabled()) {
+            return shardedUserRepository.findByEmail(email);
+        }
+        return getEntityManager().unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+
+    /**
+     * Same lookup for callers that never modify the user (login, claim refresh):
+     * the entity is loaded read-only, so Hibernate keeps no snapshot and skips dirty checking.
+     */
+    public Optional<User> findByEmailReadOnly(String email) {
+        if (shardRouter.isEnabled()) {
+            return shardedUserRepository.findByEmail(email);
+        }
+        Session session = getEntityManager().unwrap(Session.class);
+        boolean defaultReadOnly = session.isDefaultReadOnly();
+        session.setDefaultReadOnly(true);
+        try {
+            return session.bySimpleNaturalId(User.class).loadOptional(email);
+        } finally {
+            session.setDefaultReadOnly(defaultReadOnly);
+        }
     }
 
     public Optional<User> findByVerificationToken(String token) {
-        return find("verificationToken", token).firstResultOptional();
+        if (shardRouter.isEnabled()) {
+            return shardedUserRepository.findByVerificationToken(token);
+        }
+        return getEntityManager()
+                .createNamedQuery(User.FIND_BY_VERIFICATION_TOKEN, User.class)
+                .setParameter("token", token)
+                .setMaxResults(1)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<User> findByIdOptional(Long id) {
+        if (shardRouter.isEnabled()) {
+            return shardedUserRepository.findById(id);
+        }
+        return Optional.ofNullable(getEntityManager().find(User.class, id));
     }
 
     public boolean existsByEmail(String email) {
-        return count("email", email) > 0;
+        if (shardRouter.isEnabled()) {
+            return shardedUserRepository.existsByEmail(email);
+        }
+        // Stops at the first matching row instead of counting
+        return !getEntityManager()
+                .createNamedQuery(User.EXISTS_BY_EMAIL)
+                .setParameter("email", email)
+                .setMaxResults(1)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * Routes writes to the owning shard when sharding is enabled; otherwise a plain JPA persist.
+     */
+    @Override
+    public void persist(User user) {
+        if (shardRouter.isEnabled()) {
+            shardedUserRepository.save(user);
+            return;
+        }
+        EntityManager em = getEntityManager();
+        if (!em.contains(user)) {
+            em.persist(user);
+        }
+    }
+
+    /**
+     * Queue a user-state notification on the current transaction.
+     * Postgres only delivers NOTIFY on commit, so listeners never see uncommitted state.
+     * The payload is id:version only, never the email. Other databases (H2 in tests) have
+     * no NOTIFY, so nothing is sent there.
+     */
+    public void publishStateChange(User user) {
+        if (!"postgresql".equals(dbKind)) {
+            return;
+        }
+        getEntityManager()
+                .createNativeQuery("SELECT pg_notify(?1, ?2)")
+                .setParameter(1, USER_STATE_CHANNEL)
+                .setParameter(2, user.getId() + ":" + user.getTokenVersion())
+                .getSingleResult();
+    }
+
+    /**
+     * Write back coalesced login activity as one JDBC batch, then evict the touched users
+     * from the second-level cache. The columns are not updatable through the entity, so this
+     * never races with regular User updates.
+     */
+    public void updateLoginActivity(List<LoginActivity> activities) {
+        if (activities.isEmpty()) {
+            return;
+        }
+        if (shardRouter.isEnabled()) {
+            shardedUserRepository.updateLoginActivity(activities);
+            return;
+        }
+        QuarkusTransaction.requiringNew().run(() -> getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_LOGIN_ACTIVITY + "id = ?")) {
+                for (LoginActivity activity : activities) {
+                    bindLoginActivity(statement, activity);
+                    statement.setLong(4, activity.getUserId());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }));
+
+        Cache cache = entityManagerFactory.getCache();
+        for (LoginActivity activity : activities) {
+            cache.evict(User.class, activity.getUserId());
+        }
+    }
+
+    static void bindLoginActivity(PreparedStatement statement, LoginActivity activity) throws SQLException {
+        statement.setTimestamp(1, activity.getLastLoginAt() != null ? Timestamp.from(activity.getLastLoginAt()) : null);
+        statement.setInt(2, activity.getFailedAttempts());
+        statement.setTimestamp(3, activity.getLockedUntil() != null ? Timestamp.from(activity.getLockedUntil()) : null);
+    }
+
+    /**
+     * Replace the user's outstanding sign-in link. Only the digest is stored.
+     */
+    public void storeMagicLink(User user, String digest, Instant expiresAt) {
+        if (shardRouter.isEnabled()) {
+            shardedUserRepository.storeMagicLink(user.getEmail(), digest, expiresAt);
+            return;
+        }
+        getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(STORE_MAGIC_LINK + "id = ?")) {
+                statement.setString(1, digest);
+                statement.setTimestamp(2, Timestamp.from(expiresAt));
+                statement.setLong(3, user.getId());
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Redeem a sign-in link: clears the digest if it is present and unexpired, and returns the
+     * owning user, all in one UPDATE on the digest index. A second redemption finds no row.
+     * The raw token is only used to route to its shard.
+     */
+    public Optional<User> consumeMagicLink(String digest, String token) {
+        if (shardRouter.isEnabled()) {
+            return shardedUserRepository.consumeMagicLink(digest, token);
+        }
+        return getEntityManager().unwrap(Session.class)
+                .doReturningWork(connection -> consumeMagicLink(connection, digest));
+    }
+
+    static Optional<User> consumeMagicLink(Connection connection, String digest) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CONSUME_MAGIC_LINK)) {
+            statement.setString(1, digest);
+            statement.setTimestamp(2, Timestamp.from(Instant.now()));
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? Optional.of(ShardedUserRepository.map(rs)) : Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Next keyset chunk of unverified users created before the cutoff, ordered by id.
+     * With lock set the rows are locked, so a concurrent verification cannot race the purge.
+     */
+    public List<User> findStaleUnverified(Instant cutoff, long afterId, int limit, boolean lock) {
+        PanacheQuery<User> query = find("isVerified = false and createdAt < ?1 and id > ?2 order by id", cutoff, afterId);
+        if (lock) {
+            query.withLock(LockModeType.PESSIMISTIC_WRITE);
+        }
+        return query.page(0, limit).list();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,126 @@
+package org.oppexai.resource;
+
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.jboss.logging.Logger;
+import org.oppexai.dto.response.ImportResponse;
+import org.oppexai.dto.response.MessageResponse;
+import org.oppexai.service.ShardRebalanceService;
+import org.oppexai.service.UserExportService;
+import org.oppexai.service.UserImportService;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+
+@Path("/api/admin/users")
+@Produces(MediaType.APPLICATION_JSON)
+@RolesAllowed("admin")
+public class AdminResource {
+
+    private static final Logger LOG = Logger.getLogger(AdminResource.class);
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Inject
+    UserImportService userImportService;
+
+    @Inject
+    UserExportService userExportService;
+
+    @Inject
+    ShardRebalanceService shardRebalanceService;
+
+    /**
+     * POST /api/admin/users/import
+     * Bulk import users with existing BCrypt hashes (NDJSON or CSV body).
+     * No verification emails are sent.
+     */
+    @POST
+    @Path("/import")
+    @Consumes({NDJSON, "text/csv"})
+    public Response importUsers(@HeaderParam("Content-Type") String contentType, InputStream body) {
+        UserImportService.Format format = contentType != null && contentType.startsWith("text/csv")
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+
+        try {
+            LOG.infof("User import started (%s)", format);
+
+            ImportResponse result = userImportService.importUsers(body, format);
+
+            return Response.ok(result).build();
+
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(MessageResponse.error(e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            LOG.errorf("User import error: %s", e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(MessageResponse.error("Import failed. Rows committed before the failure are kept."))
+                    .build();
+        }
+    }
+
+    /**
+     * GET /api/admin/users/export
+     * Stream users as NDJSON (id, email, isVerified, createdAt).
+     * Optional filters: verified, createdFrom, createdTo (ISO-8601 instants).
+     */
+    @GET
+    @Path("/export")
+    @Produces(NDJSON)
+    public Response exportUsers(@QueryParam("verified") Boolean verified,
+                                @QueryParam("createdFrom") String createdFrom,
+                                @QueryParam("createdTo") String createdTo) {
+        Instant from;
+        Instant to;
+        try {
+            from = createdFrom != null ? Instant.parse(createdFrom) : null;
+            to = createdTo != null ? Instant.parse(createdTo) : null;
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(MessageResponse.error("createdFrom/createdTo must be ISO-8601 instants"))
+                    .build();
+        }
+
+        LOG.infof("User export started (verified=%s, from=%s, to=%s)", verified, from, to);
+
+        StreamingOutput stream = out -> userExportService.exportUsers(verified, from, to, out);
+        return Response.ok(stream).build();
+    }
+
+    /**
+     * POST /api/admin/users/rebalance
+     * Move users onto the shard their email hashes to under the current shard list.
+     */
+    @POST
+    @Path("/rebalance")
+    public Response rebalanceShards() {
+        try {
+            ShardRebalanceService.Result result = shardRebalanceService.rebalance();
+
+            return Response.ok()
+                    .entity(MessageResponse.success("Rebalance complete. Users moved: " + result.moved()
+                            + ", conflicts left in place: " + result.conflicts()))
+                    .build();
+
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(MessageResponse.error(e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            LOG.errorf("Shard rebalance error: %s", e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(MessageResponse.error("Rebalance failed. It is safe to run it again."))
+                    .build();
+        }
+    }
+}
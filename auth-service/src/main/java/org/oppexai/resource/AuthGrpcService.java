@@ -0,0 +1,112 @@
+package org.oppexai.resource;
+
+import io.grpc.Status;
+import io.quarkus.grpc.GrpcService;
+import io.quarkus.grpc.RegisterInterceptor;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import org.jboss.logging.Logger;
+import org.oppexai.dto.response.TokenIntrospection;
+import org.oppexai.grpc.AuthInternal;
+import org.oppexai.grpc.GetUserRequest;
+import org.oppexai.grpc.GetUserResponse;
+import org.oppexai.grpc.ValidateTokenRequest;
+import org.oppexai.grpc.ValidateTokenResponse;
+import org.oppexai.model.User;
+import org.oppexai.service.TokenIntrospectionService;
+import org.oppexai.service.UserService;
+
+/**
+ * gRPC counterpart of the introspection and user endpoints for internal callers.
+ * Token validation is pure CPU plus a cache lookup and runs on the event loop;
+ * GetUser may hit the database and runs on a worker thread.
+ * Every call needs a service key ({@link ServiceKeyInterceptor}), and validated tokens
+ * count against the caller's introspection rate. Over that rate a unary call fails with
+ * RESOURCE_EXHAUSTED, while a stream answers the message with rate_limited set, since a
+ * status would end the stream for every later message.
+ */
+@GrpcService
+@RegisterInterceptor(ServiceKeyInterceptor.class)
+public class AuthGrpcService implements AuthInternal {
+
+    private static final Logger LOG = Logger.getLogger(AuthGrpcService.class);
+
+    @Inject
+    TokenIntrospectionService introspectionService;
+
+    @Inject
+    UserService userService;
+
+    @Override
+    public Uni<ValidateTokenResponse> validateToken(ValidateTokenRequest request) {
+        return Uni.createFrom().item(() -> {
+            if (!admit()) {
+                throw Status.RESOURCE_EXHAUSTED.withDescription("Introspection rate exceeded").asRuntimeException();
+            }
+            return validate(request);
+        });
+    }
+
+    @Override
+    public Multi<ValidateTokenResponse> validateTokenStream(Multi<ValidateTokenRequest> requests) {
+        return requests.map(request -> admit() ? validate(request) : rateLimited(request));
+    }
+
+    @Override
+    @Blocking
+    public Uni<GetUserResponse> getUser(GetUserRequest request) {
+        return Uni.createFrom().item(() -> {
+            User user = switch (request.getKeyCase()) {
+                case ID -> userService.findById(request.getId());
+                case EMAIL -> userService.findByEmail(request.getEmail());
+                case KEY_NOT_SET -> throw Status.INVALID_ARGUMENT
+                        .withDescription("id or email is required")
+                        .asRuntimeException();
+            };
+            return GetUserResponse.newBuilder()
+                    .setId(user.getId())
+                    .setEmail(user.getEmail())
+                    .setVerified(Boolean.TRUE.equals(user.getIsVerified()))
+                    .setCreatedAt(user.getCreatedAt() != null ? user.getCreatedAt().getEpochSecond() : 0L)
+                    .build();
+        }).onFailure(NotFoundException.class).transform(e -> {
+            LOG.debugf("GetUser: %s", e.getMessage());
+            return Status.NOT_FOUND.withDescription("User not found").asRuntimeException();
+        });
+    }
+
+    private boolean admit() {
+        String caller = ServiceKeyInterceptor.CALLER.get();
+        return caller == null || introspectionService.admit(caller, 1);
+    }
+
+    private static ValidateTokenResponse rateLimited(ValidateTokenRequest request) {
+        return ValidateTokenResponse.newBuilder()
+                .setRateLimited(true)
+                .setCorrelationId(request.getCorrelationId())
+                .build();
+    }
+
+    private ValidateTokenResponse validate(ValidateTokenRequest request) {
+        TokenIntrospection result = introspectionService.introspect(request.getToken());
+        ValidateTokenResponse.Builder response = ValidateTokenResponse.newBuilder()
+                .setActive(result.isActive())
+                .setCorrelationId(request.getCorrelationId());
+        if (result.isActive()) {
+            if (result.getEmail() != null) {
+                response.setEmail(result.getEmail());
+            }
+            if (result.getUserId() != null) {
+                response.setUserId(result.getUserId());
+            }
+            if (result.getExp() != null) {
+                response.setExp(result.getExp());
+            }
+            response.setVerified(Boolean.TRUE.equals(result.getIsVerified()));
+        }
+        return response.build();
+    }
+}
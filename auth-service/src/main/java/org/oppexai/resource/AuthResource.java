@@ -6,12 +6,27 @@ import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.oppexai.dto.request.IntrospectRequest;
 import org.oppexai.dto.request.LoginRequest;
+import org.oppexai.dto.request.MagicLinkRedeemRequest;
+import org.oppexai.dto.request.MagicLinkRequest;
+import org.oppexai.dto.request.ResendVerificationRequest;
 import org.oppexai.dto.request.SignUpRequest;
 import org.oppexai.dto.response.AuthResponse;
+import org.oppexai.dto.response.IntrospectResponse;
 import org.oppexai.dto.response.MessageResponse;
+import org.oppexai.dto.response.PreEncodedResponses;
+import org.oppexai.dto.response.UserInfoResponse;
 import org.oppexai.model.User;
 import org.oppexai.service.AuthService;
+import org.oppexai.service.CurrentUser;
+import org.oppexai.service.IdempotencyService;
+import org.oppexai.service.LoginResult;
+import org.oppexai.service.MagicLinkService;
+import org.oppexai.service.ServiceCredentials;
+import org.oppexai.service.SignupResult;
+import org.oppexai.service.TokenIntrospectionService;
 import org.oppexai.service.UserService;
 
 
@@ -28,33 +43,112 @@ public class AuthResource {
     @Inject
     AuthService authService;
 
+    @Inject
+    TokenIntrospectionService tokenIntrospectionService;
+
+    @Inject
+    MagicLinkService magicLinkService;
+
+    @Inject
+    ServiceCredentials serviceCredentials;
+
+    @Inject
+    CurrentUser currentUser;
+
+    @Inject
+    IdempotencyService idempotencyService;
+
+    @ConfigProperty(name = "app.introspect.max-batch-size", defaultValue = "100")
+    int maxIntrospectBatchSize;
+
     /**
      * POST /api/auth/signup
      * Register a new user
      */
     @POST
     @Path("/signup")
-    public Response signup(@Valid SignUpRequest request) {
+    public Response signup(@Valid SignUpRequest request,
+                           @HeaderParam(IdempotencyService.HEADER) String idempotencyKey) {
+        return idempotencyService.execute(
+                idempotencyKey,
+                IdempotencyService.fingerprint("signup", request.getEmail()),
+                () -> doSignup(request)
+        );
+    }
+
+    private Response doSignup(SignUpRequest request) {
         try {
             LOG.infof("Signup request received for: %s", request.getEmail());
 
-            userService.signup(request.getEmail(), request.getPassword());
+            SignupResult result = userService.signup(request.getEmail(), request.getPassword());
+
+            if (result == SignupResult.DOMAIN_BLOCKED) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(PreEncodedResponses.EMAIL_DOMAIN_NOT_ALLOWED)
+                        .build();
+            }
+
+            if (result == SignupResult.PASSWORD_BREACHED) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(PreEncodedResponses.PASSWORD_BREACHED)
+                        .build();
+            }
+
+            if (result == SignupResult.OVERLOADED) {
+                return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .header("Retry-After", "1")
+                        .entity(PreEncodedResponses.OVERLOADED)
+                        .build();
+            }
+
+            if (result == SignupResult.EMAIL_ALREADY_REGISTERED) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(PreEncodedResponses.EMAIL_ALREADY_REGISTERED)
+                        .build();
+            }
 
             return Response.status(Response.Status.CREATED)
-                    .entity(MessageResponse.success(
-                            "Signup successful! Please check your email to verify your account."
-                    ))
+                    .entity(PreEncodedResponses.SIGNUP_SUCCESS)
                     .build();
 
-        } catch (BadRequestException e) {
-            LOG.warnf("Signup failed: %s", e.getMessage());
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity(MessageResponse.error(e.getMessage()))
-                    .build();
         } catch (Exception e) {
             LOG.errorf("Signup error: %s", e.getMessage());
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                    .entity(MessageResponse.error("Signup failed. Please try again."))
+                    .entity(PreEncodedResponses.SIGNUP_FAILED)
+                    .build();
+        }
+    }
+
+    /**
+     * POST /api/auth/resend-verification
+     * Send a fresh verification email to an unverified user.
+     * The response is the same whether the address is unknown, unverified or already verified.
+     */
+    @POST
+    @Path("/resend-verification")
+    public Response resendVerification(@Valid ResendVerificationRequest request,
+                                       @HeaderParam(IdempotencyService.HEADER) String idempotencyKey) {
+        return idempotencyService.execute(
+                idempotencyKey,
+                IdempotencyService.fingerprint("resend-verification", request.getEmail()),
+                () -> doResendVerification(request)
+        );
+    }
+
+    private Response doResendVerification(ResendVerificationRequest request) {
+        try {
+            LOG.infof("Resend verification request received for: %s", request.getEmail());
+
+            userService.resendVerificationEmail(request.getEmail());
+
+            return Response.ok()
+                    .entity(PreEncodedResponses.RESEND_SUCCESS)
+                    .build();
+
+        } catch (Exception e) {
+            LOG.errorf("Resend verification error: %s", e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(PreEncodedResponses.RESEND_FAILED)
                     .build();
         }
     }
@@ -67,14 +161,18 @@ public class AuthResource {
             LOG.infof("Login request received for: %s", request.getEmail());
 
             // Authenticate and get JWT token
-            String token = authService.login(request.getEmail(), request.getPassword());
+            LoginResult result = authService.login(request.getEmail(), request.getPassword());
 
-            // Get user details
-            User user = userService.findByEmail(request.getEmail());
+            if (!result.isSuccess()) {
+                return Response.status(Response.Status.UNAUTHORIZED)
+                        .entity(PreEncodedResponses.INVALID_CREDENTIALS)
+                        .build();
+            }
 
             // Create response
+            User user = result.getUser();
             AuthResponse response = new AuthResponse(
-                    token,
+                    result.getToken(),
                     user.getEmail(),
                     user.getIsVerified(),
                     "Login successful"
@@ -82,15 +180,78 @@ public class AuthResource {
 
             return Response.ok(response).build();
 
-        } catch (NotAuthorizedException e) {
-            LOG.warnf("Login failed: %s", e.getMessage());
-            return Response.status(Response.Status.UNAUTHORIZED)
-                    .entity(MessageResponse.error("Invalid email or password"))
-                    .build();
         } catch (Exception e) {
             LOG.errorf("Login error: %s", e.getMessage());
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                    .entity(MessageResponse.error("Login failed. Please try again."))
+                    .entity(PreEncodedResponses.LOGIN_FAILED)
+                    .build();
+        }
+    }
+
+    /**
+     * POST /api/auth/magic-link
+     * Email a single-use sign-in link; the response is the same whether or not the account exists
+     */
+    @POST
+    @Path("/magic-link")
+    public Response requestMagicLink(@Valid MagicLinkRequest request) {
+        if (!magicLinkService.isEnabled()) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(PreEncodedResponses.MAGIC_LINK_DISABLED)
+                    .build();
+        }
+        try {
+            LOG.infof("Sign-in link request received for: %s", request.getEmail());
+
+            magicLinkService.requestLink(request.getEmail());
+
+            return Response.ok()
+                    .entity(PreEncodedResponses.MAGIC_LINK_SENT)
+                    .build();
+
+        } catch (Exception e) {
+            LOG.errorf("Sign-in link request error: %s", e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(PreEncodedResponses.REQUEST_FAILED)
+                    .build();
+        }
+    }
+
+    /**
+     * POST /api/auth/magic-link/redeem
+     * Exchange a sign-in link token for a JWT, without a password check
+     */
+    @POST
+    @Path("/magic-link/redeem")
+    public Response redeemMagicLink(@Valid MagicLinkRedeemRequest request) {
+        if (!magicLinkService.isEnabled()) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(PreEncodedResponses.MAGIC_LINK_DISABLED)
+                    .build();
+        }
+        try {
+            LoginResult result = magicLinkService.redeem(request.getToken());
+
+            if (!result.isSuccess()) {
+                return Response.status(Response.Status.UNAUTHORIZED)
+                        .entity(PreEncodedResponses.INVALID_MAGIC_LINK)
+                        .build();
+            }
+
+            User user = result.getUser();
+            AuthResponse response = new AuthResponse(
+                    result.getToken(),
+                    user.getEmail(),
+                    user.getIsVerified(),
+                    "Login successful"
+            );
+
+            return Response.ok(response).build();
+
+        } catch (Exception e) {
+            LOG.errorf("Sign-in link redeem error: %s", e.getMessage());
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(PreEncodedResponses.LOGIN_FAILED)
                     .build();
         }
     }
@@ -214,11 +375,59 @@ public class AuthResource {
         );
     }
 
+    /**
+     * GET /api/auth/me
+     * Current user from the verified token claims (no DB hit for fresh tokens)
+     */
+    @GET
+    @Path("/me")
+    public Response me() {
+        return Response.ok(new UserInfoResponse(
+                currentUser.getUserId(),
+                currentUser.getEmail(),
+                currentUser.getIsVerified()
+        )).build();
+    }
+
     @POST
     @Path("/logout")
     public Response logout() {
         return Response.ok()
-                .entity(MessageResponse.success("Logged out successfully"))
+                .entity(PreEncodedResponses.LOGOUT_SUCCESS)
+                .build();
+    }
+
+    /**
+     * POST /api/auth/introspect
+     * Validate a batch of tokens; results are returned in request order.
+     * Internal callers only: requires a service key, and each caller is rate limited per token.
+     */
+    @POST
+    @Path("/introspect")
+    public Response introspect(@HeaderParam(ServiceCredentials.HEADER) String serviceKey,
+                               @Valid IntrospectRequest request) {
+        String caller = serviceCredentials.authenticate(serviceKey);
+        if (caller == null) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity(MessageResponse.error("A valid " + ServiceCredentials.HEADER + " is required"))
+                    .build();
+        }
+
+        if (request.getTokens().size() > maxIntrospectBatchSize) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(MessageResponse.error("At most " + maxIntrospectBatchSize + " tokens per request"))
+                    .build();
+        }
+
+        if (!tokenIntrospectionService.admit(caller, request.getTokens().size())) {
+            LOG.warnf("Introspection rate limit reached for caller: %s", caller);
+            return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                    .entity(MessageResponse.error("Introspection rate limit reached. Please retry shortly."))
+                    .header("Retry-After", "1")
+                    .build();
+        }
+
+        return Response.ok(new IntrospectResponse(tokenIntrospectionService.introspect(request.getTokens())))
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package org.oppexai.resource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.oppexai.dto.response.PreEncodedResponses;
+import org.oppexai.util.AdaptiveConcurrencyLimit;
+
+/**
+ * Adaptive concurrency limiting in front of /api/auth.
+ * Expensive endpoints (BCrypt: login, signup) and cheap ones (verify, logout, ...)
+ * learn separate limits, so a flood of logins cannot starve verification links.
+ * Requests over the limit get an immediate 503.
+ */
+@Provider
+public class ConcurrencyLimitFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String LIMIT_PROPERTY = ConcurrencyLimitFilter.class.getName() + ".limit";
+    private static final String START_PROPERTY = ConcurrencyLimitFilter.class.getName() + ".start";
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "app.concurrency.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.concurrency.expensive.initial-limit", defaultValue = "8")
+    int expensiveInitial;
+
+    @ConfigProperty(name = "app.concurrency.expensive.max-limit", defaultValue = "64")
+    int expensiveMax;
+
+    @ConfigProperty(name = "app.concurrency.cheap.initial-limit", defaultValue = "50")
+    int cheapInitial;
+
+    @ConfigProperty(name = "app.concurrency.cheap.max-limit", defaultValue = "500")
+    int cheapMax;
+
+    @ConfigProperty(name = "app.concurrency.min-limit", defaultValue = "2")
+    int minLimit;
+
+    private AdaptiveConcurrencyLimit expensive;
+    private AdaptiveConcurrencyLimit cheap;
+
+    @PostConstruct
+    void init() {
+        expensive = new AdaptiveConcurrencyLimit(expensiveInitial, minLimit, expensiveMax);
+        cheap = new AdaptiveConcurrencyLimit(cheapInitial, minLimit, cheapMax);
+        registerMetrics("expensive", expensive);
+        registerMetrics("cheap", cheap);
+    }
+
+    private void registerMetrics(String endpointClass, AdaptiveConcurrencyLimit limit) {
+        Tags tags = Tags.of("class", endpointClass);
+        Gauge.builder("auth.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit).tags(tags).register(registry);
+        Gauge.builder("auth.concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInFlight).tags(tags).register(registry);
+        FunctionCounter.builder("auth.concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejected).tags(tags).register(registry);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (!enabled) {
+            return;
+        }
+        String path = request.getUriInfo().getPath();
+        if (!path.startsWith("/api/auth/")) {
+            return;
+        }
+
+        AdaptiveConcurrencyLimit limit = isExpensive(path) ? expensive : cheap;
+        if (!limit.tryAcquire()) {
+            request.abortWith(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .entity(PreEncodedResponses.OVERLOADED)
+                    .type(MediaType.APPLICATION_JSON)
+                    .header("Retry-After", "1")
+                    .build());
+            return;
+        }
+        request.setProperty(LIMIT_PROPERTY, limit);
+        request.setProperty(START_PROPERTY, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Object limit = request.getProperty(LIMIT_PROPERTY);
+        if (limit instanceof AdaptiveConcurrencyLimit acquired) {
+            request.removeProperty(LIMIT_PROPERTY);
+            acquired.release(System.nanoTime() - (long) request.getProperty(START_PROPERTY));
+        }
+    }
+
+    private static boolean isExpensive(String path) {
+        return path.endsWith("/login") || path.endsWith("/signup");
+    }
+}
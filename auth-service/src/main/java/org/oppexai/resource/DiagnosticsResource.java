@@ -0,0 +1,103 @@
+package org.oppexai.resource;
+
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.jboss.logging.Logger;
+import org.oppexai.dto.response.MessageResponse;
+import org.oppexai.service.FlightRecordingService;
+
+import java.nio.file.Files;
+import java.time.Duration;
+
+
+@Path("/api/admin/diagnostics/recording")
+@Produces(MediaType.APPLICATION_JSON)
+@RolesAllowed("admin")
+public class DiagnosticsResource {
+
+    private static final Logger LOG = Logger.getLogger(DiagnosticsResource.class);
+
+    @Inject
+    FlightRecordingService flightRecordingService;
+
+    /**
+     * POST /api/admin/diagnostics/recording?durationSeconds=120
+     * Start a bounded JFR recording (auth stage and email events plus the JDK profile settings).
+     */
+    @POST
+    public Response start(@QueryParam("durationSeconds") Long durationSeconds) {
+        try {
+            Duration duration = flightRecordingService.start(
+                    durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null);
+
+            return Response.ok()
+                    .entity(MessageResponse.success("Recording started for " + duration.toSeconds() + "s"))
+                    .build();
+
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(MessageResponse.error(e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * POST /api/admin/diagnostics/recording/stop
+     */
+    @POST
+    @Path("/stop")
+    public Response stop() {
+        if (!flightRecordingService.stop()) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(MessageResponse.error("No recording is running"))
+                    .build();
+        }
+        return Response.ok()
+                .entity(MessageResponse.success("Recording stopped"))
+                .build();
+    }
+
+    /**
+     * GET /api/admin/diagnostics/recording
+     * Download the running or stopped recording as a .jfr file.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public Response dump() {
+        java.nio.file.Path file = flightRecordingService.dump();
+        if (file == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(MessageResponse.error("No recording to download"))
+                    .build();
+        }
+
+        LOG.infof("JFR recording dumped (%s)", file);
+        StreamingOutput stream = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return Response.ok(stream)
+                .header("Content-Disposition", "attachment; filename=\"auth-service.jfr\"")
+                .build();
+    }
+
+    /**
+     * DELETE /api/admin/diagnostics/recording
+     * Discard the recording and its data.
+     */
+    @DELETE
+    public Response close() {
+        flightRecordingService.close();
+        return Response.ok()
+                .entity(MessageResponse.success("Recording discarded"))
+                .build();
+    }
+}
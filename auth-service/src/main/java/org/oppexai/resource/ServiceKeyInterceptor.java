@@ -0,0 +1,45 @@
+package org.oppexai.resource;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.oppexai.service.ServiceCredentials;
+
+/**
+ * Requires a configured service key in the x-service-key metadata of every AuthInternal call.
+ * Calls without a valid key are closed with UNAUTHENTICATED before any message is read;
+ * the caller name is made available to the service through {@link #CALLER}.
+ */
+@ApplicationScoped
+public class ServiceKeyInterceptor implements ServerInterceptor {
+
+    private static final Logger LOG = Logger.getLogger(ServiceKeyInterceptor.class);
+
+    static final Metadata.Key<String> SERVICE_KEY =
+            Metadata.Key.of("x-service-key", Metadata.ASCII_STRING_MARSHALLER);
+
+    static final Context.Key<String> CALLER = Context.key("service-caller");
+
+    @Inject
+    ServiceCredentials serviceCredentials;
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        String caller = serviceCredentials.authenticate(headers.get(SERVICE_KEY));
+        if (caller == null) {
+            LOG.debugf("Rejected %s without a valid service key", call.getMethodDescriptor().getFullMethodName());
+            call.close(Status.UNAUTHENTICATED.withDescription("A valid service key is required"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        return Contexts.interceptCall(Context.current().withValue(CALLER, caller), call, headers, next);
+    }
+}
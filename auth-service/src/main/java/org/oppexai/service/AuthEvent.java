@@ -0,0 +1,76 @@
+package org.oppexai.service;
+
+import java.time.Instant;
+
+/**
+ * One row of the authentication audit log (auth_events).
+ */
+public final class AuthEvent {
+
+    public enum Type {
+        LOGIN,
+        SIGNUP,
+        VERIFY_EMAIL,
+        MAGIC_LINK
+    }
+
+    private final Instant occurredAt;
+    private final Type type;
+    private final boolean success;
+    private final String email;
+    private final Long userId;
+    private final String detail;
+
+    public AuthEvent(Instant occurredAt, Type type, boolean success, String email, Long userId, String detail) {
+        this.occurredAt = occurredAt;
+        this.type = type;
+        this.success = success;
+        this.email = email;
+        this.userId = userId;
+        this.detail = detail;
+    }
+
+    public static AuthEvent success(Type type, String email, Long userId) {
+        return new AuthEvent(Instant.now(), type, true, email, userId, null);
+    }
+
+    public static AuthEvent failure(Type type, String email, String detail) {
+        return new AuthEvent(Instant.now(), type, false, email, null, detail);
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthEvent{" +
+                "occurredAt=" + occurredAt +
+                ", type=" + type +
+                ", success=" + success +
+                ", email='" + email + '\'' +
+                ", userId=" + userId +
+                ", detail='" + detail + '\'' +
+                '}';
+    }
+}
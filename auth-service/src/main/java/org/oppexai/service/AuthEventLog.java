@@ -0,0 +1,253 @@
+package org.oppexai.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.oppexai.repository.AuthEventRepository;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous authentication audit log.
+ * Request threads only put events into a fixed-capacity ring buffer; a single writer
+ * thread drains it and writes multi-row INSERTs into auth_events, so auditing never
+ * adds a database round trip to login or signup.
+ * When the buffer is full the configured {@link OverflowPolicy} decides what is lost,
+ * and every lost event is counted. Whatever is still buffered is flushed on shutdown.
+ */
+@ApplicationScoped
+public class AuthEventLog {
+
+    private static final Logger LOG = Logger.getLogger(AuthEventLog.class);
+
+    public enum OverflowPolicy {
+        /** Reject the incoming event; the request never waits. */
+        DROP_NEWEST,
+        /** Evict the oldest buffered event to make room; the request never waits. */
+        DROP_OLDEST,
+        /** Wait up to app.audit.block-timeout for room (backpressure), then drop the incoming event. */
+        BLOCK
+    }
+
+    @Inject
+    AuthEventRepository repository;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "app.audit.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.audit.capacity", defaultValue = "8192")
+    int capacity;
+
+    @ConfigProperty(name = "app.audit.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "app.audit.max-linger", defaultValue = "PT0.2S")
+    Duration maxLinger;
+
+    @ConfigProperty(name = "app.audit.overflow-policy", defaultValue = "drop-newest")
+    OverflowPolicy overflowPolicy;
+
+    @ConfigProperty(name = "app.audit.block-timeout", defaultValue = "PT0.01S")
+    Duration blockTimeout;
+
+    @ConfigProperty(name = "app.audit.shutdown-timeout", defaultValue = "PT10S")
+    Duration shutdownTimeout;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private ArrayBlockingQueue<AuthEvent> buffer;
+    private volatile boolean running;
+    private Thread writer;
+
+    @PostConstruct
+    void init() {
+        buffer = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("auth.audit.buffer.size", buffer, ArrayBlockingQueue::size).register(registry);
+        FunctionCounter.builder("auth.audit.events", written, AtomicLong::get).tag("result", "written").register(registry);
+        FunctionCounter.builder("auth.audit.events", dropped, AtomicLong::get).tag("result", "dropped").register(registry);
+        FunctionCounter.builder("auth.audit.events", failed, AtomicLong::get).tag("result", "failed").register(registry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        repository.createTableIfMissing();
+        createUpcomingPartitions();
+
+        running = true;
+        writer = new Thread(this::runWriter, "auth-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // The writer has stopped polling; write out whatever is left
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        while (!buffer.isEmpty() && System.nanoTime() < deadline) {
+            flush();
+        }
+        LOG.infof("Audit log closed (written=%d, dropped=%d, failed=%d, unflushed=%d)",
+                written.get(), dropped.get(), failed.get(), buffer.size());
+    }
+
+    /**
+     * Buffers the event for the writer. Never throws; an event that cannot be
+     * buffered is counted as dropped.
+     */
+    public void record(AuthEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> {
+                if (!buffer.offer(event)) {
+                    dropped.incrementAndGet();
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!buffer.offer(event)) {
+                    if (buffer.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+            }
+            case BLOCK -> {
+                try {
+                    if (!buffer.offer(event, blockTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                        dropped.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes up to one batch of buffered events without waiting for more.
+     * @return number of events taken from the buffer
+     */
+    int flush() {
+        List<AuthEvent> batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+        buffer.drainTo(batch, batchSize);
+        write(batch);
+        return batch.size();
+    }
+
+    @Scheduled(every = "{app.audit.partition-check-interval}")
+    void createUpcomingPartitions() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        createPartition(current);
+        createPartition(current.plusMonths(1));
+    }
+
+    private void createPartition(YearMonth month) {
+        try {
+            long moved = repository.createPartitionIfMissing(month);
+            if (moved > 0) {
+                LOG.infof("Created auth_events partition for %s, moved %d rows out of the default partition",
+                        month, moved);
+            }
+        } catch (RuntimeException e) {
+            // Rows keep landing in the default partition; the next run tries again
+            LOG.errorf("Could not create auth_events partition for %s: %s", month, e.getMessage());
+        }
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    private void runWriter() {
+        List<AuthEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuthEvent first = buffer.poll(maxLinger.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Linger briefly so a trickle of events still leaves as one INSERT
+                long deadline = System.nanoTime() + maxLinger.toNanos();
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    AuthEvent next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                write(batch);
+                return;
+            }
+        }
+    }
+
+    private void write(List<AuthEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            repository.insertBatch(batch);
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            LOG.errorf("Dropped %d audit events, write failed: %s", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.inject.Inject;
 import jakarta.ws.rs.NotAuthorizedException;
 
 import org.jboss.logging.Logger;
+import org.oppexai.diagnostics.AuthStageEvent;
 import org.oppexai.model.User;
 import org.oppexai.repository.UserRepository;
 import org.oppexai.util.JwtUtil;
@@ -29,32 +30,61 @@ public class AuthService {
     @Inject
     UserService userService;
 
+    @Inject
+    AuthEventLog authEventLog;
+
+    @Inject
+    LoginActivityStore loginActivityStore;
+
     /**
      * Authenticate user with constant-time verification
+     * @return the token and user on success, {@link LoginResult#failure()} otherwise
      */
-    public String login(String email, String plainPassword) {
+    public LoginResult login(String email, String plainPassword) {
         LOG.infof("Login attempt for email: %s", email);
 
         // Fetch user from database
-        User user = userRepository.findByEmail(email).orElse(null);
+        AuthStageEvent lookup = AuthStageEvent.start(AuthStageEvent.LOGIN_LOOKUP);
+        User user = userRepository.findByEmailReadOnly(email).orElse(null);
+        lookup.finish(email, user != null);
 
         // Prepare hash to verify against (constant-time)
         String hashToVerify = (user != null) ? user.getPasswordHash() : DUMMY_PASSWORD_HASH;
 
         // ALWAYS perform BCrypt verification (prevents timing attacks)
+        AuthStageEvent hashVerify = AuthStageEvent.start(AuthStageEvent.LOGIN_HASH_VERIFY);
         boolean passwordMatches = PasswordUtil.verifyPassword(plainPassword, hashToVerify);
+        hashVerify.finish(email, passwordMatches);
+
+        // Checked after the verify and answered like any other failure, so neither timing
+        // nor the response tells a locked account apart from a wrong password or unknown email
+        if (user != null && loginActivityStore.isLocked(user)) {
+            LOG.warnf("Login rejected, account locked: %s", email);
+            authEventLog.record(AuthEvent.failure(AuthEvent.Type.LOGIN, email, "locked"));
+            return LoginResult.failure();
+        }
 
         // Check if user exists AND password matches
         if (user == null || !passwordMatches) {
             LOG.warnf("Login failed for email: %s", email);
-            throw new NotAuthorizedException("Invalid email or password");
+            if (user != null) {
+                loginActivityStore.recordFailure(user);
+            }
+            authEventLog.record(AuthEvent.failure(AuthEvent.Type.LOGIN, email,
+                    user == null ? "unknown_email" : "bad_password"));
+            return LoginResult.failure();
         }
 
+        loginActivityStore.recordSuccess(user);
+
         // Generate JWT token
+        AuthStageEvent sign = AuthStageEvent.start(AuthStageEvent.LOGIN_SIGN);
         String token = jwtUtil.generateToken(user);
+        sign.finish(email, true);
         LOG.infof("Login successful for: %s", email);
+        authEventLog.record(AuthEvent.success(AuthEvent.Type.LOGIN, email, user.getId()));
 
-        return token;
+        return LoginResult.success(token, user);
     }
 
     /**
@@ -0,0 +1,47 @@
+package org.oppexai.service;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.oppexai.util.BreachedPasswordCorpus;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Rejects passwords found in a local breached-password corpus (see {@link BreachedPasswordCorpus}).
+ * Screening is offline and in-process; without app.breached-passwords.file it is a no-op.
+ */
+@ApplicationScoped
+public class BreachedPasswordScreen {
+
+    private static final Logger LOG = Logger.getLogger(BreachedPasswordScreen.class);
+
+    @ConfigProperty(name = "app.breached-passwords.file")
+    Optional<String> file;
+
+    private volatile BreachedPasswordCorpus corpus;
+
+    void onStart(@Observes StartupEvent event) {
+        if (file.isEmpty()) {
+            LOG.info("No breached-password corpus configured; screening disabled");
+            return;
+        }
+        Path path = Path.of(file.get());
+        try {
+            corpus = BreachedPasswordCorpus.open(path);
+            LOG.infof("Breached-password corpus loaded: %d hashes from %s", corpus.size(), path);
+        } catch (IOException e) {
+            // Signup keeps working without screening rather than failing to start
+            LOG.errorf("Could not open breached-password corpus %s, screening disabled: %s", path, e.getMessage());
+        }
+    }
+
+    public boolean isBreached(String password) {
+        BreachedPasswordCorpus current = corpus;
+        return current != null && password != null && current.containsPassword(password);
+    }
+}
@@ -0,0 +1,95 @@
+package org.oppexai.service;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotAuthorizedException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.jboss.logging.Logger;
+import org.oppexai.model.User;
+import org.oppexai.repository.UserRepository;
+import org.oppexai.util.JwtUtil;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The authenticated caller, built from the claims of the already-verified JWT.
+ * The database is only consulted when the token is older than the freshness
+ * threshold, or when {@link UserStateBus} has seen a newer token_version for the
+ * user than the one the token was issued with.
+ */
+@RequestScoped
+public class CurrentUser {
+
+    private static final Logger LOG = Logger.getLogger(CurrentUser.class);
+
+    @Inject
+    JsonWebToken jwt;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    UserStateBus userStateBus;
+
+    @ConfigProperty(name = "app.auth.claims-freshness", defaultValue = "PT15M")
+    Duration claimsFreshness;
+
+    private boolean resolved;
+    private Long userId;
+    private String email;
+    private Boolean isVerified;
+
+    public boolean isAuthenticated() {
+        return jwt != null && jwt.getRawToken() != null;
+    }
+
+    public Long getUserId() {
+        resolve();
+        return userId;
+    }
+
+    public String getEmail() {
+        resolve();
+        return email;
+    }
+
+    public Boolean getIsVerified() {
+        resolve();
+        return isVerified;
+    }
+
+    private void resolve() {
+        if (resolved) {
+            return;
+        }
+
+        email = JwtUtil.claimAsString(jwt.getClaim("email"));
+        if (email == null) {
+            email = jwt.getName();
+        }
+        userId = JwtUtil.claimAsLong(jwt.getClaim("userId"));
+        isVerified = JwtUtil.claimAsBoolean(jwt.getClaim("isVerified"));
+
+        Long tokenVersion = JwtUtil.claimAsLong(jwt.getClaim("ver"));
+        boolean stale = tokenVersion != null && userStateBus.knownVersion(userId) > tokenVersion;
+
+        Instant issuedAt = Instant.ofEpochSecond(jwt.getIssuedAtTime());
+        if (stale || userId == null || isVerified == null || issuedAt.plus(claimsFreshness).isBefore(Instant.now())) {
+            refresh();
+        }
+        resolved = true;
+    }
+
+    /**
+     * @throws NotAuthorizedException if the account no longer exists (deleted or purged)
+     */
+    private void refresh() {
+        LOG.debugf("Refreshing claims from database for: %s", email);
+        User user = userRepository.findByEmailReadOnly(email)
+                .orElseThrow(() -> new NotAuthorizedException("Account no longer exists", "Bearer"));
+        userId = user.getId();
+        isVerified = user.getIsVerified();
+    }
+}
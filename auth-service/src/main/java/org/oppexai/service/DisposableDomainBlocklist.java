@@ -0,0 +1,102 @@
+package org.oppexai.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.oppexai.util.DomainSet;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+/**
+ * Disposable email domains rejected at signup before any hashing or database work.
+ * The list comes from app.blocklist.file when set (polled for changes and swapped in
+ * atomically once fully loaded), otherwise from the bundled disposable-domains.txt.
+ * A list that fails to load never replaces the current one.
+ */
+@ApplicationScoped
+public class DisposableDomainBlocklist {
+
+    private static final Logger LOG = Logger.getLogger(DisposableDomainBlocklist.class);
+
+    private static final String BUNDLED_LIST = "disposable-domains.txt";
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "app.blocklist.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.blocklist.file")
+    Optional<String> file;
+
+    private volatile DomainSet domains = DomainSet.empty();
+    private volatile Object loadedVersion;
+
+    void onStart(@Observes StartupEvent event) {
+        Gauge.builder("auth.blocklist.domains", this, blocklist -> blocklist.domains.size()).register(registry);
+        if (!enabled) {
+            return;
+        }
+        if (file.isPresent()) {
+            reloadIfChanged();
+        } else {
+            loadBundled();
+        }
+    }
+
+    public boolean isBlocked(String email) {
+        return enabled && email != null && domains.containsDomainOf(email);
+    }
+
+    @Scheduled(every = "{app.blocklist.check-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void reloadIfChanged() {
+        if (!enabled || file.isEmpty()) {
+            return;
+        }
+        Path path = Path.of(file.get());
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            Object version = attributes.lastModifiedTime().toMillis() + ":" + attributes.size();
+            if (version.equals(loadedVersion)) {
+                return;
+            }
+            DomainSet loaded;
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                loaded = DomainSet.read(reader);
+            }
+            domains = loaded;
+            loadedVersion = version;
+            LOG.infof("Loaded %d blocked domains from %s", loaded.size(), path);
+        } catch (IOException e) {
+            LOG.errorf("Could not load domain blocklist %s, keeping %d domains: %s",
+                    path, domains.size(), e.getMessage());
+        }
+    }
+
+    private void loadBundled() {
+        try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(BUNDLED_LIST)) {
+            if (in == null) {
+                LOG.warnf("No %s on the classpath; domain blocklist is empty", BUNDLED_LIST);
+                return;
+            }
+            domains = DomainSet.read(new InputStreamReader(in, StandardCharsets.UTF_8));
+            LOG.infof("Loaded %d bundled blocked domains", domains.size());
+        } catch (IOException e) {
+            LOG.errorf("Could not load bundled domain blocklist: %s", e.getMessage());
+        }
+    }
+}
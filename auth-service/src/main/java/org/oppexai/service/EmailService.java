@@ -7,8 +7,13 @@ import jakarta.enterprise.context.ApplicationScoped;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jboss.logging.Logger;
+import org.oppexai.diagnostics.EmailSendEvent;
 import jakarta.inject.Inject;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
 @ApplicationScoped
 public class EmailService {
     private static final Logger LOG = Logger.getLogger(EmailService.class);
@@ -19,33 +24,67 @@ public class EmailService {
     @ConfigProperty(name = "app.backend.url")
     String backendUrl;
 
+    @ConfigProperty(name = "app.frontend.url")
+    String frontendUrl;
+
     @Inject
     ManagedExecutor managedExecutor;
 
     public void sendVerificationEmail(String email, String token) {
+        sendVerificationEmail(email, token, () -> { });
+    }
+
+    /**
+     * @param onFailure run on the sending thread if the Resend API rejects the email
+     */
+    public void sendVerificationEmail(String email, String token, Runnable onFailure) {
+        String link = backendUrl + "/api/auth/verify?token=" + token;
+        String htmlBody = String.format("""
+            <h1>Verify Your Email</h1>
+            <p>Click the link below to verify your account:</p>
+            <a href="%s">Verify Email Address</a>
+            """, link);
+        send(email, "Verify Your Email - Oppex AI", htmlBody, "verification", onFailure);
+    }
+
+    /**
+     * The link opens the frontend, which POSTs the token to /api/auth/magic-link/redeem.
+     * A plain GET redemption would let mail scanners that prefetch links burn the single-use token.
+     *
+     * @param onFailure run on the sending thread if the Resend API rejects the email
+     */
+    public void sendMagicLinkEmail(String email, String token, Duration validFor, Runnable onFailure) {
+        String link = frontendUrl + "/magic-link?token=" + URLEncoder.encode(token, StandardCharsets.UTF_8);
+        String htmlBody = String.format("""
+            <h1>Sign In to Oppex AI</h1>
+            <p>Click the link below to sign in. It works once and expires in %d minutes.</p>
+            <a href="%s">Sign In</a>
+            <p>If you did not request this, you can ignore this email.</p>
+            """, validFor.toMinutes(), link);
+        send(email, "Your Sign-In Link - Oppex AI", htmlBody, "magic_link", onFailure);
+    }
+
+    private void send(String email, String subject, String htmlBody, String kind, Runnable onFailure) {
         // Use ManagedExecutor to prevent blocking the main thread
         managedExecutor.runAsync(() -> {
             Resend resend = new Resend(apiKey);
 
-            String link = backendUrl + "/api/auth/verify?token=" + token;
-            String htmlBody = String.format("""
-                <h1>Verify Your Email</h1>
-                <p>Click the link below to verify your account:</p>
-                <a href="%s">Verify Email Address</a>
-                """, link);
-
             CreateEmailOptions params = CreateEmailOptions.builder()
                     .from("Oppex AI <onboarding@resend.dev>")
                     .to(email)
-                    .subject("Verify Your Email - Oppex AI")
+                    .subject(subject)
                     .html(htmlBody)
                     .build();
 
+            EmailSendEvent event = EmailSendEvent.start(kind);
             try {
                 CreateEmailResponse data = resend.emails().send(params);
                 LOG.infof("Email sent successfully via Resend. ID: %s", data.getId());
+                event.finish(email, true);
             } catch (Exception e) {
                 LOG.errorf("Resend API failed for %s: %s", email, e.getMessage());
+                event.finish(email, false);
+                onFailure.run();
             }
         });
     }
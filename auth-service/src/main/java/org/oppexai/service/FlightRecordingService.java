@@ -0,0 +1,124 @@
+package org.oppexai.service;
+
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.oppexai.diagnostics.AuthStageEvent;
+import org.oppexai.diagnostics.EmailSendEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * One on-demand JDK Flight Recorder recording at a time, bounded in duration and size,
+ * so an admin can profile a slow instance in place without a restart.
+ */
+@ApplicationScoped
+public class FlightRecordingService {
+
+    private static final Logger LOG = Logger.getLogger(FlightRecordingService.class);
+
+    @ConfigProperty(name = "app.jfr.settings", defaultValue = "profile")
+    String settings;
+
+    @ConfigProperty(name = "app.jfr.max-duration", defaultValue = "PT10M")
+    Duration maxDuration;
+
+    @ConfigProperty(name = "app.jfr.max-size-mb", defaultValue = "64")
+    long maxSizeMb;
+
+    private Recording recording;
+
+    /**
+     * @param duration requested length; capped at app.jfr.max-duration
+     * @return the effective duration
+     * @throws IllegalStateException if a recording is already running
+     */
+    public synchronized Duration start(Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        closeQuietly();
+
+        Duration effective = duration == null || duration.isNegative() || duration.isZero()
+                || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+        try {
+            recording = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unknown JFR settings: " + settings, e);
+        }
+        recording.setName("auth-service-admin");
+        recording.enable(AuthStageEvent.class);
+        recording.enable(EmailSendEvent.class);
+        recording.setDuration(effective);
+        recording.setMaxSize(maxSizeMb * 1024 * 1024);
+        recording.setToDisk(true);
+        recording.start();
+
+        LOG.infof("JFR recording started (settings=%s, duration=%s, maxSize=%d MB)", settings, effective, maxSizeMb);
+        return effective;
+    }
+
+    /**
+     * Stops the recording; its data stays available for {@link #dump()}.
+     * @return false if no recording was running
+     */
+    public synchronized boolean stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return false;
+        }
+        recording.stop();
+        LOG.info("JFR recording stopped");
+        return true;
+    }
+
+    /**
+     * Writes the current contents of the running or stopped recording to a temp file.
+     * The caller deletes the file.
+     * @return the file, or null if there is nothing to dump
+     */
+    public synchronized Path dump() {
+        if (recording == null || recording.getState() == RecordingState.CLOSED
+                || recording.getState() == RecordingState.NEW) {
+            return null;
+        }
+        try {
+            Path file = Files.createTempFile("auth-service-", ".jfr");
+            recording.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Discards the recording and its data.
+     */
+    public synchronized void close() {
+        closeQuietly();
+    }
+
+    public synchronized String getState() {
+        return recording != null ? recording.getState().name() : "NONE";
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        close();
+    }
+
+    private void closeQuietly() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
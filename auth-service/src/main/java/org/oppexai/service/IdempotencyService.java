@@ -0,0 +1,290 @@
+package org.oppexai.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
+import org.jboss.logging.Logger;
+import org.oppexai.dto.response.PreEncodedResponses;
+import org.oppexai.model.IdempotencyRecord;
+import org.oppexai.repository.IdempotencyRecordRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Honors the Idempotency-Key header for retried requests.
+ * The first request with a key inserts an in-progress claim row into idempotency_keys
+ * before it runs. Concurrent duplicates on this node wait for its result; duplicates
+ * arriving at another node find the claim and get a 409 until it completes. Later
+ * retries replay the stored status and body. Results live in a bounded in-memory cache
+ * backed by the same table (with TTL), so they survive restarts and are visible to
+ * other nodes. A claim abandoned by a crashed node expires after the claim timeout.
+ * Only responses with a pre-encoded byte[] body and a non-5xx status are stored.
+ */
+@ApplicationScoped
+public class IdempotencyService {
+
+    private static final Logger LOG = Logger.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    // SQLState of a unique_violation, on Postgres and H2 alike
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    @Inject
+    IdempotencyRecordRepository recordRepository;
+
+    @ConfigProperty(name = "app.idempotency.ttl", defaultValue = "PT24H")
+    Duration ttl;
+
+    @ConfigProperty(name = "app.idempotency.cache-size", defaultValue = "10000")
+    long cacheSize;
+
+    @ConfigProperty(name = "app.idempotency.wait-timeout", defaultValue = "PT10S")
+    Duration waitTimeout;
+
+    @ConfigProperty(name = "app.idempotency.claim-timeout", defaultValue = "PT1M")
+    Duration claimTimeout;
+
+    private Cache<String, CompletableFuture<Stored>> results;
+
+    @PostConstruct
+    void init() {
+        results = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Run the action at most once per key (per TTL).
+     * @param fingerprint identifies the request payload; reusing a key for a different payload is rejected
+     */
+    public Response execute(String key, String fingerprint, Supplier<Response> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(PreEncodedResponses.INVALID_IDEMPOTENCY_KEY)
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+
+        CompletableFuture<Stored> mine = new CompletableFuture<>();
+        CompletableFuture<Stored> existing = results.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            return awaitDuplicate(key, fingerprint, existing);
+        }
+
+        boolean claimed = false;
+        try {
+            Stored stored = claim(key, fingerprint);
+
+            if (stored == null) {
+                claimed = true;
+                Response response = action.get();
+                stored = Stored.of(fingerprint, response);
+                if (stored.storable()) {
+                    save(key, stored);
+                } else {
+                    // Let the client retry failures; duplicates already waiting share this result
+                    release(key);
+                    results.invalidate(key);
+                    mine.complete(stored);
+                    return response;
+                }
+            } else if (stored.inProgress()) {
+                // Another node holds the claim; don't cache its placeholder here
+                results.invalidate(key);
+            }
+
+            mine.complete(stored);
+            return replay(fingerprint, stored);
+
+        } catch (RuntimeException e) {
+            if (claimed) {
+                release(key);
+            }
+            results.invalidate(key);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Response awaitDuplicate(String key, String fingerprint, CompletableFuture<Stored> first) {
+        try {
+            return replay(fingerprint, first.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            return json(Response.Status.CONFLICT, PreEncodedResponses.IDEMPOTENT_REQUEST_IN_PROGRESS);
+        } catch (ExecutionException e) {
+            LOG.warnf("Original request for idempotency key %s failed: %s", key, e.getCause().getMessage());
+            return json(Response.Status.INTERNAL_SERVER_ERROR, PreEncodedResponses.REQUEST_FAILED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return json(Response.Status.SERVICE_UNAVAILABLE, PreEncodedResponses.REQUEST_FAILED);
+        }
+    }
+
+    private Response replay(String fingerprint, Stored stored) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            return Response.status(422)
+                    .entity(PreEncodedResponses.IDEMPOTENCY_KEY_REUSED)
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+        }
+        if (stored.inProgress()) {
+            return json(Response.Status.CONFLICT, PreEncodedResponses.IDEMPOTENT_REQUEST_IN_PROGRESS);
+        }
+        return Response.status(stored.status())
+                .entity(stored.body())
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    /**
+     * Insert an in-progress claim for the key, or take over an expired row.
+     * @return null if this request now owns the key, otherwise the stored result or claim
+     */
+    private Stored claim(String key, String fingerprint) {
+        try {
+            return QuarkusTransaction.requiringNew().call(() -> {
+                Instant now = Instant.now();
+                IdempotencyRecord record = recordRepository.findById(key, LockModeType.PESSIMISTIC_WRITE);
+                if (record == null) {
+                    recordRepository.persistAndFlush(new IdempotencyRecord(
+                            key, fingerprint, IdempotencyRecord.IN_PROGRESS, null, now.plus(claimTimeout)));
+                    return null;
+                }
+                if (record.getExpiresAt().isAfter(now)) {
+                    return Stored.of(record);
+                }
+                // Expired result or a claim abandoned by a crashed node
+                record.setFingerprint(fingerprint);
+                record.setStatus(IdempotencyRecord.IN_PROGRESS);
+                record.setBody(null);
+                record.setExpiresAt(now.plus(claimTimeout));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            // Another node inserted its claim between our read and insert
+            LOG.debugf("Idempotency key %s claimed elsewhere: %s", key, e.getMessage());
+            return new Stored(fingerprint, IdempotencyRecord.IN_PROGRESS, null);
+        }
+    }
+
+    /**
+     * Only a duplicate key means another claim won; anything else (lost connection,
+     * timeout) must not be reported to the client as a request in progress.
+     */
+    static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+            if (cause instanceof ConstraintViolationException violation
+                    && UNIQUE_VIOLATION.equals(violation.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void save(String key, Stored stored) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                IdempotencyRecord record = recordRepository.findById(key);
+                if (record == null) {
+                    return;
+                }
+                record.setStatus(stored.status());
+                record.setBody(stored.body());
+                record.setExpiresAt(Instant.now().plus(ttl));
+            });
+        } catch (RuntimeException e) {
+            // The claim row stays and expires; the in-memory result is still valid here
+            LOG.warnf("Idempotency record for key %s not stored: %s", key, e.getMessage());
+        }
+    }
+
+    private void release(String key) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> recordRepository.deleteById(key));
+        } catch (RuntimeException e) {
+            LOG.warnf("Idempotency claim for key %s not released, it expires on its own: %s", key, e.getMessage());
+        }
+    }
+
+    @Scheduled(every = "{app.idempotency.purge-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purgeExpired() {
+        long deleted = QuarkusTransaction.requiringNew().call(() -> recordRepository.deleteExpired(Instant.now()));
+        if (deleted > 0) {
+            LOG.infof("Purged %d expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * SHA-256 over the endpoint and the normalized email. Passwords are deliberately left out
+     * so nothing derived from them is persisted.
+     */
+    public static String fingerprint(String endpoint, String email) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(endpoint.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(email.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Response json(Response.Status status, byte[] body) {
+        return Response.status(status).entity(body).type(MediaType.APPLICATION_JSON).build();
+    }
+
+    private record Stored(String fingerprint, int status, byte[] body) {
+
+        static Stored of(IdempotencyRecord record) {
+            return new Stored(record.getFingerprint(), record.getStatus(), record.getBody());
+        }
+
+        static Stored of(String fingerprint, Response response) {
+            byte[] body = response.getEntity() instanceof byte[] bytes ? bytes : null;
+            return new Stored(fingerprint, response.getStatus(), body);
+        }
+
+        boolean storable() {
+            return body != null && status < 500;
+        }
+
+        boolean inProgress() {
+            return status == IdempotencyRecord.IN_PROGRESS;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.oppexai.service;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of a user's login activity, as written back by {@link LoginActivityStore}.
+ */
+public final class LoginActivity {
+
+    private final Long userId;
+    private final String email;
+    private final Instant lastLoginAt;
+    private final int failedAttempts;
+    private final Instant lockedUntil;
+
+    public LoginActivity(Long userId, String email, Instant lastLoginAt, int failedAttempts, Instant lockedUntil) {
+        this.userId = userId;
+        this.email = email;
+        this.lastLoginAt = lastLoginAt;
+        this.failedAttempts = failedAttempts;
+        this.lockedUntil = lockedUntil;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Instant getLastLoginAt() {
+        return lastLoginAt;
+    }
+
+    public int getFailedAttempts() {
+        return failedAttempts;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    @Override
+    public String toString() {
+        return "LoginActivity{" +
+                "userId=" + userId +
+                ", email='" + email + '\'' +
+                ", lastLoginAt=" + lastLoginAt +
+                ", failedAttempts=" + failedAttempts +
+                ", lockedUntil=" + lockedUntil +
+                '}';
+    }
+}
@@ -0,0 +1,236 @@
+package org.oppexai.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.oppexai.model.User;
+import org.oppexai.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind store for last_login_at, failed_login_attempts and locked_until.
+ * Login outcomes only update in-memory state; changed users are queued once and
+ * written back in periodic JDBC batches, so any number of logins between two flushes
+ * costs at most one UPDATE per user. Lockout is decided from the in-memory state,
+ * which is seeded from the row the first time a user is seen on this node.
+ */
+@ApplicationScoped
+public class LoginActivityStore {
+
+    private static final Logger LOG = Logger.getLogger(LoginActivityStore.class);
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "app.login-activity.max-failed-attempts", defaultValue = "5")
+    int maxFailedAttempts;
+
+    @ConfigProperty(name = "app.login-activity.lockout-duration", defaultValue = "PT15M")
+    Duration lockoutDuration;
+
+    @ConfigProperty(name = "app.login-activity.last-login-resolution", defaultValue = "PT1M")
+    Duration lastLoginResolution;
+
+    @ConfigProperty(name = "app.login-activity.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "app.login-activity.max-tracked-users", defaultValue = "100000")
+    long maxTrackedUsers;
+
+    @ConfigProperty(name = "app.login-activity.idle-expiry", defaultValue = "PT30M")
+    Duration idleExpiry;
+
+    private Cache<Long, State> states;
+    private final Map<Long, State> pending = new ConcurrentHashMap<>();
+
+    private Counter flushedRows;
+    private Counter failedFlushes;
+
+    @PostConstruct
+    void init() {
+        states = Caffeine.newBuilder()
+                .maximumSize(maxTrackedUsers)
+                .expireAfterAccess(idleExpiry)
+                .build();
+
+        Gauge.builder("auth.login-activity.pending", pending, Map::size).register(registry);
+        flushedRows = registry.counter("auth.login-activity.flushed");
+        failedFlushes = registry.counter("auth.login-activity.flush.failures");
+    }
+
+    public boolean isLocked(User user) {
+        return state(user).isLocked(Instant.now());
+    }
+
+    public void recordSuccess(User user) {
+        State state = state(user);
+        if (state.recordSuccess(Instant.now(), lastLoginResolution)) {
+            pending.put(user.getId(), state);
+        }
+    }
+
+    /**
+     * @return true if this failure locked the account
+     */
+    public boolean recordFailure(User user) {
+        State state = state(user);
+        boolean locked = state.recordFailure(Instant.now(), maxFailedAttempts, lockoutDuration);
+        pending.put(user.getId(), state);
+        if (locked) {
+            LOG.warnf("Account locked for %s after %d failed logins", user.getEmail(), maxFailedAttempts);
+        }
+        return locked;
+    }
+
+    @Scheduled(every = "{app.login-activity.flush-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledFlush() {
+        flush();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        int flushed = flush();
+        LOG.infof("Login activity flushed on shutdown (%d users, %d still pending)", flushed, pending.size());
+    }
+
+    /**
+     * Write back every pending user, in batches.
+     * @return number of users written
+     */
+    public int flush() {
+        int total = 0;
+        Iterator<Long> ids = pending.keySet().iterator();
+        while (ids.hasNext()) {
+            List<State> batch = new ArrayList<>(batchSize);
+            while (ids.hasNext() && batch.size() < batchSize) {
+                // Remove before snapshotting: a concurrent update re-queues the user for the next flush
+                State state = pending.remove(ids.next());
+                if (state != null) {
+                    batch.add(state);
+                }
+            }
+            if (!writeBatch(batch)) {
+                break;
+            }
+            total += batch.size();
+        }
+        return total;
+    }
+
+    /**
+     * Drop all state for a deleted user, including a pending write-back.
+     */
+    public void forget(Long userId) {
+        states.invalidate(userId);
+        pending.remove(userId);
+    }
+
+    public void clear() {
+        states.invalidateAll();
+        pending.clear();
+    }
+
+    private boolean writeBatch(List<State> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        List<LoginActivity> activities = new ArrayList<>(batch.size());
+        for (State state : batch) {
+            activities.add(state.snapshot());
+        }
+        try {
+            userRepository.updateLoginActivity(activities);
+            flushedRows.increment(activities.size());
+            return true;
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            LOG.errorf("Login activity flush failed for %d users, will retry: %s", batch.size(), e.getMessage());
+            for (State state : batch) {
+                pending.putIfAbsent(state.userId, state);
+            }
+            return false;
+        }
+    }
+
+    private State state(User user) {
+        // A queued state wins over the row, which may not have been written back yet
+        return states.get(user.getId(), id -> {
+            State queued = pending.get(id);
+            return queued != null ? queued : new State(user);
+        });
+    }
+
+    private static final class State {
+
+        private final Long userId;
+        private final String email;
+        private Instant lastLoginAt;
+        private int failedAttempts;
+        private Instant lockedUntil;
+
+        State(User user) {
+            this.userId = user.getId();
+            this.email = user.getEmail();
+            this.lastLoginAt = user.getLastLoginAt();
+            this.failedAttempts = user.getFailedLoginAttempts();
+            this.lockedUntil = user.getLockedUntil();
+        }
+
+        synchronized boolean isLocked(Instant now) {
+            return lockedUntil != null && now.isBefore(lockedUntil);
+        }
+
+        /**
+         * @return true if the row needs writing; a login within the resolution of the
+         *         stored last_login_at on an otherwise clean account changes nothing worth a write
+         */
+        synchronized boolean recordSuccess(Instant now, Duration resolution) {
+            boolean clean = failedAttempts == 0 && lockedUntil == null;
+            if (clean && lastLoginAt != null && lastLoginAt.plus(resolution).isAfter(now)) {
+                return false;
+            }
+            lastLoginAt = now;
+            failedAttempts = 0;
+            lockedUntil = null;
+            return true;
+        }
+
+        synchronized boolean recordFailure(Instant now, int maxFailedAttempts, Duration lockoutDuration) {
+            if (lockedUntil != null && !now.isBefore(lockedUntil)) {
+                // Lock expired: start a fresh allowance
+                lockedUntil = null;
+                failedAttempts = 0;
+            }
+            failedAttempts++;
+            if (failedAttempts >= maxFailedAttempts) {
+                lockedUntil = now.plus(lockoutDuration);
+                failedAttempts = 0;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized LoginActivity snapshot() {
+            return new LoginActivity(userId, email, lastLoginAt, failedAttempts, lockedUntil);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.oppexai.service;
+
+import org.oppexai.model.User;
+
+/**
+ * Outcome of a login attempt.
+ * Failed logins are an expected, frequent outcome (e.g. credential stuffing),
+ * so they are returned as a value instead of thrown.
+ */
+public final class LoginResult {
+
+    private static final LoginResult FAILURE = new LoginResult(null, null);
+
+    private final String token;
+    private final User user;
+
+    private LoginResult(String token, User user) {
+        this.token = token;
+        this.user = user;
+    }
+
+    public static LoginResult success(String token, User user) {
+        return new LoginResult(token, user);
+    }
+
+    public static LoginResult failure() {
+        return FAILURE;
+    }
+
+    public boolean isSuccess() {
+        return token != null;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public User getUser() {
+        return user;
+    }
+}
@@ -0,0 +1,136 @@
+package org.oppexai.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.oppexai.model.User;
+import org.oppexai.repository.ShardRouter;
+import org.oppexai.repository.UserRepository;
+import org.oppexai.util.JwtUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Passwordless login: a single-use, short-lived link is emailed and exchanged for the
+ * usual token. Only the SHA-256 digest of the link token is stored, and redemption is one
+ * indexed UPDATE, so routine logins skip the BCrypt verify entirely.
+ */
+@ApplicationScoped
+public class MagicLinkService {
+
+    private static final Logger LOG = Logger.getLogger(MagicLinkService.class);
+
+    private static final String THROTTLE_PREFIX = "magic-link:";
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    ShardRouter shardRouter;
+
+    @Inject
+    EmailService emailService;
+
+    @Inject
+    ResendThrottle resendThrottle;
+
+    @Inject
+    JwtUtil jwtUtil;
+
+    @Inject
+    AuthEventLog authEventLog;
+
+    @Inject
+    LoginActivityStore loginActivityStore;
+
+    @ConfigProperty(name = "app.magic-link.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.magic-link.ttl", defaultValue = "PT15M")
+    Duration ttl;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Email a fresh sign-in link, replacing any outstanding one. Unknown addresses and
+     * throttled requests are silently ignored so the endpoint never reveals which emails exist.
+     */
+    @Transactional
+    public void requestLink(String email) {
+        User user = userRepository.findByEmailReadOnly(email).orElse(null);
+        if (user == null) {
+            LOG.infof("Sign-in link requested for unknown email: %s", email);
+            return;
+        }
+
+        String throttleKey = THROTTLE_PREFIX + email;
+        if (!resendThrottle.tryAcquire(throttleKey)) {
+            LOG.infof("Sign-in link coalesced, one was already sent recently to: %s", email);
+            return;
+        }
+
+        // The window only counts links that went out, so a failed send can be retried at once
+        try {
+            String token = shardRouter.encodeToken(email, randomToken());
+            userRepository.storeMagicLink(user, digest(token), Instant.now().plus(ttl));
+            emailService.sendMagicLinkEmail(email, token, ttl, () -> resendThrottle.release(throttleKey));
+        } catch (RuntimeException e) {
+            resendThrottle.release(throttleKey);
+            throw e;
+        }
+
+        LOG.infof("Sign-in link sent to: %s", email);
+    }
+
+    /**
+     * Exchange a sign-in link token for an access token. The link is consumed even if
+     * token generation later fails, so it can never be replayed.
+     */
+    @Transactional
+    public LoginResult redeem(String token) {
+        User user = userRepository.consumeMagicLink(digest(token), token).orElse(null);
+        if (user == null) {
+            LOG.warn("Sign-in link rejected: unknown, used or expired");
+            authEventLog.record(AuthEvent.failure(AuthEvent.Type.MAGIC_LINK, null, "invalid_link"));
+            return LoginResult.failure();
+        }
+
+        // Proving control of the mailbox is a successful login, so it also clears a lockout
+        loginActivityStore.recordSuccess(user);
+
+        String accessToken = jwtUtil.generateToken(user);
+        LOG.infof("Sign-in link redeemed for: %s", user.getEmail());
+        authEventLog.record(AuthEvent.success(AuthEvent.Type.MAGIC_LINK, user.getEmail(), user.getId()));
+
+        return LoginResult.success(accessToken, user);
+    }
+
+    private String randomToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
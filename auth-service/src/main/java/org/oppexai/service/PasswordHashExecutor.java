@@ -0,0 +1,102 @@
+package org.oppexai.service;
+
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.oppexai.util.PasswordUtil;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated pool for signup BCrypt hashes, separate from the request worker pool.
+ * The queue is bounded and waiting for a hash is timed, so a signup burst is refused
+ * with {@link RejectedExecutionException} instead of tying up every worker thread.
+ */
+@ApplicationScoped
+public class PasswordHashExecutor {
+
+    private static final Logger LOG = Logger.getLogger(PasswordHashExecutor.class);
+
+    @ConfigProperty(name = "app.password-hash.threads")
+    Optional<Integer> threads;
+
+    @ConfigProperty(name = "app.password-hash.queue-size", defaultValue = "64")
+    int queueSize;
+
+    @ConfigProperty(name = "app.password-hash.timeout", defaultValue = "PT5S")
+    Duration timeout;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        int size = threads.orElse(Runtime.getRuntime().availableProcessors());
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), factory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        executor.shutdown();
+    }
+
+    /**
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public CompletableFuture<String> hashAsync(String password) {
+        return supplyAsync(() -> PasswordUtil.hashPassword(password));
+    }
+
+    <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Wait up to the configured timeout for a hash started with {@link #hashAsync}.
+     * @throws RejectedExecutionException if it did not finish in time; the hash is cancelled
+     */
+    public <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Skips the hash if it is still queued; one already running finishes and is discarded
+            future.cancel(true);
+            LOG.warnf("Password hash not done within %s (queued=%d)", timeout, getQueued());
+            throw new RejectedExecutionException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Hashes waiting for a thread; running ones are counted by {@link PasswordUtil#hashingInFlight()}.
+     */
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+}
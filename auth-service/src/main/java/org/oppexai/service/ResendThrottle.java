@@ -0,0 +1,93 @@
+package org.oppexai.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Allows one email of a kind per address per window (verification resends, sign-in links).
+ * Callers key each kind with its own prefix, so one kind never throttles another.
+ * State is a fixed-size table of longs (32-bit email fingerprint | 32-bit send time
+ * in seconds), so memory stays constant no matter how many addresses are seen.
+ * Two addresses sharing a slot just evict each other, which at worst lets an
+ * extra email through; it never blocks one address on behalf of another.
+ */
+@ApplicationScoped
+public class ResendThrottle {
+
+    @ConfigProperty(name = "app.resend.window", defaultValue = "PT2M")
+    Duration window;
+
+    @ConfigProperty(name = "app.resend.slots", defaultValue = "65536")
+    int slotCount;
+
+    private AtomicLongArray slots;
+    private int mask;
+
+    @PostConstruct
+    void init() {
+        int size = Integer.highestOneBit(Math.max(slotCount, 2) - 1) << 1;
+        slots = new AtomicLongArray(size);
+        mask = size - 1;
+    }
+
+    /**
+     * @return true if the caller may send now (and the window starts), false if an email
+     *         for this address already went out within the window
+     */
+    public boolean tryAcquire(String email) {
+        int hash = hash(email);
+        int slot = slot(hash);
+        long now = System.currentTimeMillis() / 1000;
+        long fresh = ((long) hash << 32) | (now & 0xffffffffL);
+
+        while (true) {
+            long current = slots.get(slot);
+            if (current != 0 && (int) (current >>> 32) == hash
+                    && now - (current & 0xffffffffL) < window.toSeconds()) {
+                return false;
+            }
+            if (slots.compareAndSet(slot, current, fresh)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a window acquired for an email that was never sent, so the caller's
+     * next attempt is not throttled. A slot since taken by another address is left alone.
+     */
+    public void release(String email) {
+        int hash = hash(email);
+        int slot = slot(hash);
+        long current = slots.get(slot);
+        if (current != 0 && (int) (current >>> 32) == hash) {
+            slots.compareAndSet(slot, current, 0);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, 0);
+        }
+    }
+
+    private int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static int hash(String email) {
+        // FNV-1a over the normalized address; never 0 so an empty slot is unambiguous
+        int hash = 0x811c9dc5;
+        for (byte b : email.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x01000193;
+        }
+        return hash != 0 ? hash : 1;
+    }
+}
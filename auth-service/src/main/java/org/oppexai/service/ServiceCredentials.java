@@ -0,0 +1,74 @@
+package org.oppexai.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Shared-secret keys for internal callers (gateways, other services) of the
+ * introspection and gRPC APIs. Configured as name=secret pairs; the name identifies
+ * the caller for logs and per-caller limits. Only SHA-256 digests are kept, and
+ * lookups compare digests in constant time.
+ */
+@ApplicationScoped
+public class ServiceCredentials {
+
+    private static final Logger LOG = Logger.getLogger(ServiceCredentials.class);
+
+    public static final String HEADER = "X-Service-Key";
+
+    @ConfigProperty(name = "app.internal.service-keys")
+    Optional<List<String>> serviceKeys;
+
+    private final Map<String, byte[]> digests = new LinkedHashMap<>();
+
+    @PostConstruct
+    void init() {
+        for (String entry : serviceKeys.orElse(List.of())) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                LOG.warnf("Ignoring malformed service key entry (expected name=secret)");
+                continue;
+            }
+            digests.put(entry.substring(0, separator).trim(), digest(entry.substring(separator + 1).trim()));
+        }
+        if (digests.isEmpty()) {
+            LOG.info("No service keys configured; internal APIs reject every caller");
+        }
+    }
+
+    /**
+     * @return the caller name for a valid key, or null
+     */
+    public String authenticate(String key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        byte[] presented = digest(key);
+        String caller = null;
+        // Compare against every entry so timing does not depend on which one matched
+        for (Map.Entry<String, byte[]> entry : digests.entrySet()) {
+            if (MessageDigest.isEqual(presented, entry.getValue())) {
+                caller = entry.getKey();
+            }
+        }
+        return caller;
+    }
+
+    private static byte[] digest(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package org.oppexai.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.oppexai.repository.ShardRouter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves users whose email now hashes to a different shard, e.g. after
+ * app.sharding.datasources grew.
+ * Each chunk is first copied to its target shard (ON CONFLICT DO NOTHING) and
+ * only then deleted from the source, so an interrupted run can simply be repeated.
+ * A source row is deleted only once its copy is known to be on the target; rows whose
+ * email is already taken on the target by a different user are left in place and reported.
+ */
+@ApplicationScoped
+public class ShardRebalanceService {
+
+    private static final Logger LOG = Logger.getLogger(ShardRebalanceService.class);
+
+    private static final String SELECT_CHUNK =
+            "SELECT id, email, password_hash, is_verified, verification_token, token_version, " +
+            "last_login_at, failed_login_attempts, locked_until, created_at, updated_at " +
+            "FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+    // Ids are kept: they are globally unique (see ShardRouter.SHARD_ID_SHIFT) and already issued in tokens
+    private static final String INSERT =
+            "INSERT INTO users (id, email, password_hash, is_verified, verification_token, token_version, " +
+            "last_login_at, failed_login_attempts, locked_until, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String SELECT_ID_BY_EMAIL = "SELECT id FROM users WHERE email = ?";
+
+    private static final String DELETE = "DELETE FROM users WHERE id = ?";
+
+    @Inject
+    ShardRouter router;
+
+    @ConfigProperty(name = "app.sharding.rebalance-chunk-size", defaultValue = "500")
+    int chunkSize;
+
+    public record Result(long moved, long conflicts) {
+    }
+
+    public Result rebalance() throws SQLException {
+        if (!router.isEnabled()) {
+            throw new IllegalStateException("Sharding is not enabled");
+        }
+
+        long moved = 0;
+        long conflicts = 0;
+        for (int source = 0; source < router.shardCount(); source++) {
+            Result shard = rebalanceShard(source);
+            LOG.infof("Rebalance: moved %d users off shard %d (%d conflicts)", shard.moved(), source, shard.conflicts());
+            moved += shard.moved();
+            conflicts += shard.conflicts();
+        }
+        return new Result(moved, conflicts);
+    }
+
+    private Result rebalanceShard(int source) throws SQLException {
+        long moved = 0;
+        long conflicts = 0;
+        long lastId = 0;
+
+        try (Connection sourceConnection = router.dataSource(source).getConnection()) {
+            while (true) {
+                List<Row> misplaced = new ArrayList<>();
+                int scanned = 0;
+
+                try (PreparedStatement select = sourceConnection.prepareStatement(SELECT_CHUNK)) {
+                    select.setLong(1, lastId);
+                    select.setInt(2, chunkSize);
+                    try (ResultSet rs = select.executeQuery()) {
+                        while (rs.next()) {
+                            scanned++;
+                            lastId = rs.getLong("id");
+                            int target = router.shardFor(rs.getString("email"));
+                            if (target != source) {
+                                misplaced.add(Row.read(rs, target));
+                            }
+                        }
+                    }
+                }
+
+                if (!misplaced.isEmpty()) {
+                    List<Row> copied = copy(misplaced, source);
+                    delete(sourceConnection, copied);
+                    moved += copied.size();
+                    conflicts += misplaced.size() - copied.size();
+                }
+
+                if (scanned < chunkSize) {
+                    return new Result(moved, conflicts);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the rows that are now on their target shard and may be deleted from the source
+     */
+    private List<Row> copy(List<Row> rows, int source) throws SQLException {
+        List<Row> copied = new ArrayList<>(rows.size());
+        for (int target = 0; target < router.shardCount(); target++) {
+            List<Row> batch = new ArrayList<>();
+            for (Row row : rows) {
+                if (row.target() == target) {
+                    batch.add(row);
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+
+            try (Connection connection = router.dataSource(target).getConnection()) {
+                connection.setAutoCommit(false);
+                int[] counts;
+                try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                    for (Row row : batch) {
+                        insert.setLong(1, row.id());
+                        insert.setString(2, row.email());
+                        insert.setString(3, row.passwordHash());
+                        insert.setBoolean(4, row.verified());
+                        insert.setString(5, row.verificationToken());
+                        insert.setLong(6, row.tokenVersion());
+                        insert.setTimestamp(7, row.lastLoginAt());
+                        insert.setInt(8, row.failedLoginAttempts());
+                        insert.setTimestamp(9, row.lockedUntil());
+                        insert.setTimestamp(10, row.createdAt());
+                        insert.setTimestamp(11, row.updatedAt());
+                        insert.addBatch();
+                    }
+                    counts = insert.executeBatch();
+                }
+                connection.commit();
+                connection.setAutoCommit(true);
+
+                for (int i = 0; i < batch.size(); i++) {
+                    Row row = batch.get(i);
+                    // A skipped insert is fine if an earlier, interrupted run already copied this very row
+                    if (counts[i] == 1 || alreadyCopied(connection, row)) {
+                        copied.add(row);
+                    } else {
+                        LOG.warnf("Rebalance conflict: user %d (%s) on shard %d not moved, shard %d already has a different row for that email",
+                                row.id(), row.email(), source, target);
+                    }
+                }
+            }
+        }
+        return copied;
+    }
+
+    private static boolean alreadyCopied(Connection connection, Row row) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(SELECT_ID_BY_EMAIL)) {
+            select.setString(1, row.email());
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() && rs.getLong(1) == row.id();
+            }
+        }
+    }
+
+    private static void delete(Connection connection, List<Row> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement delete = connection.prepareStatement(DELETE)) {
+            for (Row row : rows) {
+                delete.setLong(1, row.id());
+                delete.addBatch();
+            }
+            delete.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private record Row(long id, int target, String email, String passwordHash, boolean verified,
+                       String verificationToken, long tokenVersion, Timestamp lastLoginAt, int failedLoginAttempts,
+                       Timestamp lockedUntil, Timestamp createdAt, Timestamp updatedAt) {
+
+        static Row read(ResultSet rs, int target) throws SQLException {
+            return new Row(
+                    rs.getLong("id"),
+                    target,
+                    rs.getString("email"),
+                    rs.getString("password_hash"),
+                    rs.getBoolean("is_verified"),
+                    rs.getString("verification_token"),
+                    rs.getLong("token_version"),
+                    rs.getTimestamp("last_login_at"),
+                    rs.getInt("failed_login_attempts"),
+                    rs.getTimestamp("locked_until"),
+                    rs.getTimestamp("created_at"),
+                    rs.getTimestamp("updated_at")
+            );
+        }
+    }
+}
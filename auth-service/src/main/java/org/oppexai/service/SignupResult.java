@@ -0,0 +1,13 @@
+package org.oppexai.service;
+
+/**
+ * Outcome of a signup attempt; a duplicate email is an expected result, not an exception.
+ */
+public enum SignupResult {
+    CREATED,
+    EMAIL_ALREADY_REGISTERED,
+    DOMAIN_BLOCKED,
+    PASSWORD_BREACHED,
+    /** The password hash pool was full or too slow; the client should retry. */
+    OVERLOADED
+}
@@ -0,0 +1,188 @@
+package org.oppexai.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.smallrye.jwt.auth.principal.JWTParser;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.jboss.logging.Logger;
+import org.oppexai.dto.response.TokenIntrospection;
+import org.oppexai.util.CwtCodec;
+import org.oppexai.util.JwtUtil;
+import org.oppexai.util.TokenBucket;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies batches of JWTs for gateways and internal services.
+ * Active results are cached per token until the token itself expires, and
+ * duplicate tokens within one batch are verified once. Inactive results are not
+ * cached, so garbage tokens cannot push real entries out of the cache; callers are
+ * instead bounded by a per-caller token rate.
+ * Every lookup, cached or not, compares the token's ver claim with the newest
+ * token_version {@link UserStateBus} knows for the user. A superseded token reports
+ * inactive as soon as this node has the change, from a notification or from the bus's
+ * startup seed, instead of when its cache entry expires; users evicted from the bus
+ * (app.state-bus.max-tracked-users) fall back to the token's own exp.
+ */
+@ApplicationScoped
+public class TokenIntrospectionService {
+
+    private static final Logger LOG = Logger.getLogger(TokenIntrospectionService.class);
+
+    @Inject
+    JWTParser jwtParser;
+
+    @Inject
+    JwtUtil jwtUtil;
+
+    @Inject
+    UserStateBus userStateBus;
+
+    @ConfigProperty(name = "app.introspect.cache-size", defaultValue = "100000")
+    long cacheSize;
+
+    @ConfigProperty(name = "app.introspect.max-ttl", defaultValue = "PT5M")
+    Duration maxTtl;
+
+    @ConfigProperty(name = "app.introspect.rate-limit.tokens-per-second", defaultValue = "1000")
+    double tokensPerSecond;
+
+    @ConfigProperty(name = "app.introspect.rate-limit.burst", defaultValue = "2000")
+    double burst;
+
+    private Cache<String, Verified> cache;
+
+    // One bucket per configured service key, so the map stays small
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * @return true if the caller may verify this many more tokens now
+     */
+    public boolean admit(String caller, int tokens) {
+        return buckets.computeIfAbsent(caller, ignored -> new TokenBucket(tokensPerSecond, burst)).tryAcquire(tokens);
+    }
+
+    public List<TokenIntrospection> introspect(List<String> tokens) {
+        Map<String, TokenIntrospection> batch = new HashMap<>();
+        List<TokenIntrospection> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            results.add(batch.computeIfAbsent(token, this::lookup));
+        }
+        return results;
+    }
+
+    public TokenIntrospection introspect(String token) {
+        return lookup(token);
+    }
+
+    private TokenIntrospection lookup(String token) {
+        if (token == null || token.isEmpty()) {
+            return TokenIntrospection.inactive();
+        }
+        Verified verified = cache.getIfPresent(token);
+        if (verified == null) {
+            verified = verify(token);
+            if (verified.result().isActive()) {
+                cache.put(token, verified);
+            }
+        }
+        if (verified.isSuperseded(userStateBus)) {
+            LOG.debugf("Introspected token predates a state change for: %s", verified.result().getEmail());
+            return TokenIntrospection.inactive();
+        }
+        return verified.result();
+    }
+
+    private Verified verify(String token) {
+        if (CwtCodec.isCompact(token)) {
+            return verifyCompact(token);
+        }
+        try {
+            JsonWebToken jwt = jwtParser.parse(token);
+            return new Verified(new TokenIntrospection(
+                    true,
+                    JwtUtil.claimAsString(jwt.getClaim("email")),
+                    JwtUtil.claimAsLong(jwt.getClaim("userId")),
+                    JwtUtil.claimAsBoolean(jwt.getClaim("isVerified")),
+                    jwt.getExpirationTime()
+            ), JwtUtil.claimAsLong(jwt.getClaim("ver")));
+        } catch (ParseException e) {
+            LOG.debugf("Introspected token is not active: %s", e.getMessage());
+            return Verified.INACTIVE;
+        }
+    }
+
+    private Verified verifyCompact(String token) {
+        try {
+            CwtCodec.Claims claims = jwtUtil.verifyCompact(token);
+            return new Verified(new TokenIntrospection(
+                    true,
+                    claims.getSubject(),
+                    claims.getUserId(),
+                    claims.getIsVerified(),
+                    claims.getExpiresAt()
+            ), claims.getVersion());
+        } catch (CwtCodec.InvalidTokenException e) {
+            LOG.debugf("Introspected compact token is not active: %s", e.getMessage());
+            return Verified.INACTIVE;
+        }
+    }
+
+    /**
+     * A verification result plus the token_version the token was issued with (null for tokens without ver).
+     */
+    private record Verified(TokenIntrospection result, Long version) {
+
+        static final Verified INACTIVE = new Verified(TokenIntrospection.inactive(), null);
+
+        boolean isSuperseded(UserStateBus bus) {
+            return result.isActive() && version != null && result.getUserId() != null
+                    && bus.knownVersion(result.getUserId()) > version;
+        }
+    }
+
+    /**
+     * Active results live until the token's exp, capped by max-ttl.
+     */
+    private class TokenExpiry implements Expiry<String, Verified> {
+
+        @Override
+        public long expireAfterCreate(String token, Verified verified, long currentTime) {
+            TokenIntrospection result = verified.result();
+            if (result.getExp() == null) {
+                return maxTtl.toNanos();
+            }
+            long untilExp = Duration.ofSeconds(result.getExp()).toMillis() - System.currentTimeMillis();
+            return Math.max(0, Math.min(Duration.ofMillis(untilExp).toNanos(), maxTtl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Verified verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Verified verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
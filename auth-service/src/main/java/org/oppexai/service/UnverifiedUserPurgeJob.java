@@ -0,0 +1,165 @@
+package org.oppexai.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.oppexai.model.User;
+import org.oppexai.repository.AuthEventRepository;
+import org.oppexai.repository.IdempotencyRecordRepository;
+import org.oppexai.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deletes unverified accounts (and with them their dangling verification tokens)
+ * once they are older than the configured age. In the same transaction their audit
+ * events are anonymized and their stored idempotent responses deleted; in-memory
+ * login activity is dropped once that transaction has committed. A dry run only
+ * counts candidates and takes no row locks.
+ * Works in small keyset-ordered chunks, one short transaction per chunk, with a
+ * pause in between so the purge never holds many row locks or creates a burst of
+ * dead tuples.
+ */
+@ApplicationScoped
+public class UnverifiedUserPurgeJob {
+
+    private static final Logger LOG = Logger.getLogger(UnverifiedUserPurgeJob.class);
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    AuthEventRepository authEventRepository;
+
+    @Inject
+    IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Inject
+    LoginActivityStore loginActivityStore;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "app.audit.enabled", defaultValue = "true")
+    boolean auditEnabled;
+
+    @ConfigProperty(name = "app.purge.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.purge.dry-run", defaultValue = "false")
+    boolean dryRun;
+
+    @ConfigProperty(name = "app.purge.max-age", defaultValue = "P30D")
+    Duration maxAge;
+
+    @ConfigProperty(name = "app.purge.chunk-size", defaultValue = "200")
+    int chunkSize;
+
+    @ConfigProperty(name = "app.purge.pause", defaultValue = "PT0.5S")
+    Duration pause;
+
+    @ConfigProperty(name = "app.purge.max-chunks-per-run", defaultValue = "500")
+    int maxChunksPerRun;
+
+    private Counter deleted;
+    private Counter candidates;
+    private Timer runTimer;
+
+    @PostConstruct
+    void initMetrics() {
+        deleted = registry.counter("auth.purge.users.deleted");
+        candidates = registry.counter("auth.purge.users.candidates");
+        runTimer = registry.timer("auth.purge.run");
+    }
+
+    @Scheduled(cron = "{app.purge.cron}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledPurge() {
+        if (!enabled) {
+            return;
+        }
+        runTimer.record(this::purge);
+    }
+
+    /**
+     * @return number of accounts deleted (or that would be deleted in dry-run mode)
+     */
+    public long purge() {
+        Instant cutoff = Instant.now().minus(maxAge);
+        LOG.infof("Purging unverified users created before %s (dryRun=%s)", cutoff, dryRun);
+
+        long total = 0;
+        long lastId = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            long afterId = lastId;
+            List<Long> ids = QuarkusTransaction.requiringNew().call(() -> purgeChunk(cutoff, afterId));
+            if (ids.isEmpty()) {
+                break;
+            }
+            if (!dryRun) {
+                // Only after commit: a rolled-back chunk keeps its users and their pending login activity
+                ids.forEach(loginActivityStore::forget);
+            }
+
+            lastId = ids.get(ids.size() - 1);
+            total += ids.size();
+            (dryRun ? candidates : deleted).increment(ids.size());
+            LOG.debugf("Purge chunk %d: %d users up to id %d", chunk, ids.size(), lastId);
+
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            if (!sleep(pause)) {
+                break;
+            }
+        }
+
+        LOG.infof("Purge finished: %d unverified users %s", total, dryRun ? "eligible (dry run)" : "deleted");
+        return total;
+    }
+
+    private List<Long> purgeChunk(Instant cutoff, long afterId) {
+        List<User> stale = userRepository.findStaleUnverified(cutoff, afterId, chunkSize, !dryRun);
+        List<Long> ids = stale.stream().map(User::getId).toList();
+        if (!dryRun && !stale.isEmpty()) {
+            // Entity removal (not a bulk delete) evicts exactly these users from the second-level cache
+            stale.forEach(userRepository::delete);
+            deleteDependentState(stale);
+        }
+        return ids;
+    }
+
+    private void deleteDependentState(List<User> stale) {
+        List<String> emails = stale.stream().map(User::getEmail).toList();
+        if (auditEnabled) {
+            // An account has no events from before it was created
+            Instant since = stale.stream().map(User::getCreatedAt).min(Instant::compareTo).orElseThrow();
+            authEventRepository.anonymize(emails, since);
+        }
+        List<String> fingerprints = new ArrayList<>(emails.size() * 2);
+        for (String email : emails) {
+            fingerprints.add(IdempotencyService.fingerprint("signup", email));
+            fingerprints.add(IdempotencyService.fingerprint("resend-verification", email));
+        }
+        idempotencyRecordRepository.deleteByFingerprints(fingerprints);
+    }
+
+    private static boolean sleep(Duration pause) {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.oppexai.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.speedment.jpastreamer.application.JPAStreamer;
+import com.speedment.jpastreamer.projection.Projection;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.oppexai.model.User;
+import org.oppexai.model.User$;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams the users table as NDJSON for analytics.
+ * Rows are read in keyset-ordered chunks (id > lastId ORDER BY id LIMIT n), each
+ * in its own short read-only transaction with a bounded JDBC fetch size, and a
+ * chunk is written to the client only after its transaction has closed, so
+ * neither the heap nor a single transaction grows with the table or waits on
+ * the client.
+ */
+@ApplicationScoped
+public class UserExportService {
+
+    private static final Logger LOG = Logger.getLogger(UserExportService.class);
+
+    @Inject
+    JPAStreamer jpaStreamer;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "app.export.chunk-size", defaultValue = "5000")
+    int chunkSize;
+
+    @ConfigProperty(name = "app.export.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    public void exportUsers(Boolean verified, Instant createdFrom, Instant createdTo, OutputStream out) throws IOException {
+        long exported = 0;
+
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.setRootValueSeparator(null);
+            long lastId = 0;
+            List<User> chunk;
+            do {
+                long afterId = lastId;
+                // Only the read holds a transaction; a slow client is written to after it closed
+                chunk = QuarkusTransaction.requiringNew().call(() -> {
+                    try (Stream<User> users = chunk(afterId, verified, createdFrom, createdTo)) {
+                        return users.toList();
+                    }
+                });
+                for (User user : chunk) {
+                    write(json, user);
+                }
+                if (!chunk.isEmpty()) {
+                    lastId = chunk.get(chunk.size() - 1).getId();
+                }
+                exported += chunk.size();
+                json.flush();
+            } while (chunk.size() == chunkSize);
+        }
+
+        LOG.infof("User export finished: %d rows", exported);
+    }
+
+    private Stream<User> chunk(long afterId, Boolean verified, Instant createdFrom, Instant createdTo) {
+        StreamConfiguration<User> config = StreamConfiguration.of(User.class)
+                .selecting(Projection.select(User$.id, User$.email, User$.isVerified, User$.createdAt))
+                .withHint("org.hibernate.fetchSize", fetchSize)
+                .withHint("org.hibernate.readOnly", true);
+
+        Stream<User> users = jpaStreamer.stream(config)
+                .filter(User$.id.greaterThan(afterId));
+        if (verified != null) {
+            // equal() on a Boolean field is rejected by Hibernate 6 as an untyped comparison
+            users = users.filter(User$.isVerified.in(verified));
+        }
+        if (createdFrom != null) {
+            users = users.filter(User$.createdAt.greaterOrEqual(createdFrom));
+        }
+        if (createdTo != null) {
+            users = users.filter(User$.createdAt.lessThan(createdTo));
+        }
+        return users.sorted(User$.id).limit(chunkSize);
+    }
+
+    private static void write(JsonGenerator json, User user) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", user.getId());
+        json.writeStringField("email", user.getEmail());
+        json.writeBooleanField("isVerified", user.getIsVerified());
+        json.writeStringField("createdAt", String.valueOf(user.getCreatedAt()));
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+}
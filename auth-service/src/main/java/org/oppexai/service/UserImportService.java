@@ -0,0 +1,178 @@
+package org.oppexai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.oppexai.dto.request.UserImportRow;
+import org.oppexai.dto.response.ImportResponse;
+import org.oppexai.repository.ShardRouter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Streams users from a previous identity store straight into the users table.
+ * Rows are validated one at a time and written in JDBC batches, so memory use
+ * does not depend on the size of the upload. Each batch is committed on its own,
+ * so rows before a failure are kept. Not available while sharding is enabled: the
+ * batches go to the default datasource only.
+ */
+@ApplicationScoped
+public class UserImportService {
+
+    private static final Logger LOG = Logger.getLogger(UserImportService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (email, password_hash, is_verified, created_at) " +
+            "VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    // Keep the error report bounded; counters still cover every row
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    public enum Format { NDJSON, CSV }
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    ShardRouter shardRouter;
+
+    @Inject
+    Validator validator;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "app.import.batch-size", defaultValue = "1000")
+    int batchSize;
+
+    @ConfigProperty(name = "app.import.progress-interval", defaultValue = "50000")
+    int progressInterval;
+
+    /**
+     * @throws IllegalStateException if sharding is enabled
+     */
+    public ImportResponse importUsers(InputStream body, Format format) throws IOException, SQLException {
+        if (shardRouter.isEnabled()) {
+            throw new IllegalStateException("User import is not supported while sharding is enabled");
+        }
+        long start = System.nanoTime();
+        ImportResponse result = new ImportResponse();
+        // Line numbers of the rows in the pending batch, for conflict reporting
+        long[] batchLines = new long[batchSize];
+        int pending = 0;
+        long lineNo = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+             Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+
+            connection.setAutoCommit(false);
+            Timestamp importedAt = Timestamp.from(Instant.now());
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank() || (format == Format.CSV && lineNo == 1 && isCsvHeader(line))) {
+                    continue;
+                }
+                result.setProcessed(result.getProcessed() + 1);
+
+                UserImportRow row;
+                try {
+                    row = format == Format.CSV ? parseCsv(line) : objectMapper.readValue(line, UserImportRow.class);
+                } catch (Exception e) {
+                    reject(result, lineNo, "malformed row");
+                    continue;
+                }
+
+                Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+                if (!violations.isEmpty()) {
+                    reject(result, lineNo, violations.iterator().next().getMessage());
+                    continue;
+                }
+
+                insert.setString(1, row.getEmail().trim());
+                insert.setString(2, row.getPasswordHash());
+                insert.setBoolean(3, row.getIsVerified());
+                insert.setTimestamp(4, importedAt);
+                insert.addBatch();
+                batchLines[pending++] = lineNo;
+
+                if (pending == batchSize) {
+                    flush(connection, insert, batchLines, pending, result);
+                    pending = 0;
+                }
+
+                if (result.getProcessed() % progressInterval == 0) {
+                    LOG.infof("User import progress: %d processed, %d imported, %d conflicts, %d rejected",
+                            result.getProcessed(), result.getImported(), result.getConflicts(), result.getRejected());
+                }
+            }
+
+            if (pending > 0) {
+                flush(connection, insert, batchLines, pending, result);
+            }
+        }
+
+        result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        LOG.infof("User import finished: %s", result);
+        return result;
+    }
+
+    private void flush(Connection connection, PreparedStatement insert, long[] batchLines,
+                       int pending, ImportResponse result) throws SQLException {
+        int[] counts = insert.executeBatch();
+        connection.commit();
+
+        for (int i = 0; i < pending; i++) {
+            if (counts[i] == 0) {
+                result.setConflicts(result.getConflicts() + 1);
+                addError(result, batchLines[i], "email already registered");
+            } else {
+                result.setImported(result.getImported() + 1);
+            }
+        }
+    }
+
+    private void reject(ImportResponse result, long lineNo, String reason) {
+        result.setRejected(result.getRejected() + 1);
+        addError(result, lineNo, reason);
+    }
+
+    private void addError(ImportResponse result, long lineNo, String reason) {
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add("line " + lineNo + ": " + reason);
+        }
+    }
+
+    /**
+     * CSV layout: email,password_hash[,is_verified]
+     */
+    static UserImportRow parseCsv(String line) {
+        String[] columns = line.split(",", -1);
+        if (columns.length < 2) {
+            throw new IllegalArgumentException("Expected at least 2 columns");
+        }
+        boolean verified = columns.length > 2 && Boolean.parseBoolean(columns[2].trim());
+        return new UserImportRow(columns[0].trim(), columns[1].trim(), verified);
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.regionMatches(true, 0, "email,", 0, 6);
+    }
+}
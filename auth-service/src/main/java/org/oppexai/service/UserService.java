@@ -1,16 +1,19 @@
 package org.oppexai.service;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
-import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 import org.jboss.logging.Logger;
+import org.oppexai.diagnostics.AuthStageEvent;
 import org.oppexai.model.User;
+import org.oppexai.repository.ShardRouter;
 import org.oppexai.repository.UserRepository;
-import org.oppexai.util.PasswordUtil;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @ApplicationScoped
 public class UserService {
@@ -23,32 +26,111 @@ public class UserService {
     @Inject
     EmailService emailService;
 
+    @Inject
+    PasswordHashExecutor passwordHashExecutor;
+
+    @Inject
+    ShardRouter shardRouter;
+
+    @Inject
+    ResendThrottle resendThrottle;
 
-    public void signup(String email, String password) {
+    @Inject
+    AuthEventLog authEventLog;
+
+    @Inject
+    DisposableDomainBlocklist domainBlocklist;
+
+    @Inject
+    BreachedPasswordScreen breachedPasswordScreen;
+
+
+    public SignupResult signup(String email, String password) {
         LOG.infof("Starting signup process for: %s", email);
 
-        String verificationToken = createNewUser(email, password);
+        // Cheap rejection before any hashing, database or email work
+        if (domainBlocklist.isBlocked(email)) {
+            LOG.warnf("Signup rejected, disposable email domain: %s", email);
+            authEventLog.record(AuthEvent.failure(AuthEvent.Type.SIGNUP, email, "blocked_domain"));
+            return SignupResult.DOMAIN_BLOCKED;
+        }
+        if (breachedPasswordScreen.isBreached(password)) {
+            LOG.warnf("Signup rejected, password found in breach corpus: %s", email);
+            authEventLog.record(AuthEvent.failure(AuthEvent.Type.SIGNUP, email, "breached_password"));
+            return SignupResult.PASSWORD_BREACHED;
+        }
+
+        String verificationToken;
+        try {
+            verificationToken = createNewUser(email, password);
+        } catch (RejectedExecutionException e) {
+            LOG.warnf("Signup refused, password hashing saturated: %s", email);
+            authEventLog.record(AuthEvent.failure(AuthEvent.Type.SIGNUP, email, "overloaded"));
+            return SignupResult.OVERLOADED;
+        }
+        if (verificationToken == null) {
+            authEventLog.record(AuthEvent.failure(AuthEvent.Type.SIGNUP, email, "email_taken"));
+            return SignupResult.EMAIL_ALREADY_REGISTERED;
+        }
+        authEventLog.record(AuthEvent.success(AuthEvent.Type.SIGNUP, email, null));
 
         try {
             emailService.sendVerificationEmail(email, verificationToken);
         } catch (Exception e) {
             LOG.errorf("User saved but email failed for %s: %s", email, e.getMessage());
         }
+        return SignupResult.CREATED;
     }
 
-    @Transactional
+    /**
+     * The duplicate check and the BCrypt hash run concurrently, and neither holds a
+     * transaction; only the insert runs in one, so no connection is pinned while hashing.
+     * @return the verification token, or null if the email is already registered
+     * @throws RejectedExecutionException if the hash pool is full or the hash timed out
+     */
     protected String createNewUser(String email, String password) {
+        AuthStageEvent event = AuthStageEvent.start(AuthStageEvent.CREATE_USER);
+        CompletableFuture<String> passwordHash;
+        try {
+            passwordHash = passwordHashExecutor.hashAsync(password);
+        } catch (RejectedExecutionException e) {
+            event.finish(email, false);
+            throw e;
+        }
+
         if (userRepository.existsByEmail(email)) {
-            throw new BadRequestException("Email already registered");
+            // Stops a hash that has not started yet; one already running finishes and is discarded
+            passwordHash.cancel(true);
+            LOG.warnf("Signup rejected, email already registered: %s", email);
+            event.finish(email, false);
+            return null;
         }
 
-        String verificationToken = UUID.randomUUID().toString();
-        User user = new User(email, PasswordUtil.hashPassword(password));
+        String verificationToken = generateVerificationToken(email);
+        String hash;
+        try {
+            hash = passwordHashExecutor.await(passwordHash);
+        } catch (RejectedExecutionException e) {
+            event.finish(email, false);
+            throw e;
+        }
+        User user = new User(email, hash);
         user.setIsVerified(false);
         user.setVerificationToken(verificationToken);
 
-        userRepository.persist(user);
+        try {
+            QuarkusTransaction.requiringNew().run(() -> userRepository.persist(user));
+        } catch (RuntimeException e) {
+            // Lost a race with a concurrent signup for the same address: the unique key rejected the insert
+            if (userRepository.existsByEmail(email)) {
+                LOG.warnf("Signup rejected, email registered concurrently: %s", email);
+                event.finish(email, false);
+                return null;
+            }
+            throw e;
+        }
         LOG.infof("User persisted to Supabase: %s", email);
+        event.finish(email, true);
         return verificationToken;
     }
 
@@ -59,6 +141,7 @@ public class UserService {
         User user = userRepository.findByVerificationToken(token)
                 .orElseThrow(() -> {
                     LOG.warnf("Verification failed: Invalid token - %s", token);
+                    authEventLog.record(AuthEvent.failure(AuthEvent.Type.VERIFY_EMAIL, null, "invalid_token"));
                     return new NotFoundException("Invalid or expired verification token");
                 });
 
@@ -69,8 +152,11 @@ public class UserService {
 
         user.setIsVerified(true);
         user.setVerificationToken(null);
+        user.bumpTokenVersion();
 
         userRepository.persist(user);
+        userRepository.publishStateChange(user);
+        authEventLog.record(AuthEvent.success(AuthEvent.Type.VERIFY_EMAIL, user.getEmail(), user.getId()));
 
         LOG.infof("Email verified successfully for user: %s", user.getEmail());
     }
@@ -105,25 +191,47 @@ public class UserService {
     public void resendVerificationEmail(String email) {
         LOG.infof("Attempting to resend verification email to: %s", email);
 
-        User user = findByEmail(email);
+        // Unknown and already-verified addresses are ignored silently, so the endpoint reveals nothing
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            LOG.infof("Resend ignored, no account for: %s", email);
+            return;
+        }
 
         if (user.getIsVerified()) {
-            LOG.warnf("Cannot resend verification: User already verified - %s", email);
-            throw new BadRequestException("Email already verified");
+            LOG.infof("Resend ignored, user already verified: %s", email);
+            return;
         }
 
-        String verificationToken = generateVerificationToken();
-        user.setVerificationToken(verificationToken);
-
-        userRepository.persist(user);
+        if (!resendThrottle.tryAcquire(email)) {
+            LOG.infof("Resend coalesced, verification email already sent recently to: %s", email);
+            return;
+        }
 
-        emailService.sendVerificationEmail(email, verificationToken);
+        // The window only counts emails that went out, so a failed send can be retried at once
+        try {
+            // Reuse the outstanding token so earlier emails stay valid and no write is needed
+            String verificationToken = user.getVerificationToken();
+            if (verificationToken == null) {
+                verificationToken = generateVerificationToken(email);
+                user.setVerificationToken(verificationToken);
+                user.bumpTokenVersion();
+
+                userRepository.persist(user);
+                userRepository.publishStateChange(user);
+            }
+
+            emailService.sendVerificationEmail(email, verificationToken, () -> resendThrottle.release(email));
+        } catch (RuntimeException e) {
+            resendThrottle.release(email);
+            throw e;
+        }
 
         LOG.infof("Verification email resent to: %s", email);
     }
 
 
-    private String generateVerificationToken() {
-        return UUID.randomUUID().toString();
+    private String generateVerificationToken(String email) {
+        return shardRouter.encodeToken(email, UUID.randomUUID().toString());
     }
 }
\ No newline at end of file
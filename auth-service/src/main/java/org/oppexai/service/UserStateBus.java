@@ -0,0 +1,173 @@
+package org.oppexai.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.pgclient.pubsub.PgSubscriber;
+import io.vertx.pgclient.PgConnectOptions;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.oppexai.model.User;
+import org.oppexai.repository.ShardRouter;
+import org.oppexai.repository.UserRepository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Cross-node user-state invalidation over Postgres LISTEN/NOTIFY.
+ * Writers call {@link UserRepository#publishStateChange(User)} inside their transaction;
+ * every node listens on the channel, evicts the user from its second-level cache and
+ * remembers the latest token_version so stale token claims can be detected.
+ * Versions are kept for the retention period, which should be at least the token lifetime,
+ * and on startup are seeded from users whose row changed within it, so a new node also
+ * knows about changes it was not listening for.
+ */
+@ApplicationScoped
+public class UserStateBus {
+
+    private static final Logger LOG = Logger.getLogger(UserStateBus.class);
+
+    public static final long UNKNOWN_VERSION = -1L;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    ShardRouter shardRouter;
+
+    @ConfigProperty(name = "app.state-bus.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.state-bus.url")
+    String url;
+
+    @ConfigProperty(name = "quarkus.datasource.username")
+    Optional<String> username;
+
+    @ConfigProperty(name = "quarkus.datasource.password")
+    Optional<String> password;
+
+    @ConfigProperty(name = "app.state-bus.max-tracked-users", defaultValue = "100000")
+    long maxTrackedUsers;
+
+    @ConfigProperty(name = "app.state-bus.retention", defaultValue = "P30D")
+    Duration retention;
+
+    private Cache<Long, Long> versions;
+    private PgSubscriber subscriber;
+
+    void onStart(@Observes StartupEvent event) {
+        versions = Caffeine.newBuilder()
+                .maximumSize(maxTrackedUsers)
+                .expireAfterWrite(retention)
+                .build();
+
+        if (!enabled) {
+            return;
+        }
+
+        // Accept the JDBC URL of the main datasource as well as a plain postgresql:// URI
+        PgConnectOptions options = PgConnectOptions.fromUri(url.startsWith("jdbc:") ? url.substring(5) : url);
+        username.ifPresent(options::setUser);
+        password.ifPresent(options::setPassword);
+
+        subscriber = PgSubscriber.subscriber(vertx, options)
+                .reconnectPolicy(retries -> 1_000L);
+        subscriber.channel(UserRepository.USER_STATE_CHANNEL).handler(this::onNotification);
+        subscriber.connect().subscribe().with(
+                ignored -> LOG.infof("Listening for user state changes on '%s'", UserRepository.USER_STATE_CHANNEL),
+                failure -> LOG.errorf("User state listener failed to connect: %s", failure.getMessage())
+        );
+
+        // After subscribing, so a change committed while seeding is not missed
+        seedVersions();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (subscriber != null) {
+            subscriber.closeAndForget();
+        }
+    }
+
+    /**
+     * @return the newest token_version seen for this user id, or {@link #UNKNOWN_VERSION}
+     */
+    public long knownVersion(Long userId) {
+        Long version = versions != null && userId != null ? versions.getIfPresent(userId) : null;
+        return version != null ? version : UNKNOWN_VERSION;
+    }
+
+    /**
+     * Load token_version for users updated within the retention period. updated_at moves with
+     * every token_version bump, so this covers every token that can still be unexpired.
+     */
+    void seedVersions() {
+        List<AgroalDataSource> sources = shardRouter.isEnabled()
+                ? IntStream.range(0, shardRouter.shardCount()).mapToObj(shardRouter::dataSource).toList()
+                : List.of(dataSource);
+        Timestamp since = Timestamp.from(Instant.now().minus(retention));
+        int seeded = 0;
+        for (AgroalDataSource source : sources) {
+            try (Connection connection = source.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT id, token_version FROM users WHERE token_version > 0 AND updated_at > ? " +
+                                 "ORDER BY updated_at DESC LIMIT ?")) {
+                statement.setTimestamp(1, since);
+                statement.setLong(2, maxTrackedUsers);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        versions.asMap().merge(rs.getLong(1), rs.getLong(2), Math::max);
+                        seeded++;
+                    }
+                }
+            } catch (SQLException e) {
+                LOG.warnf("Could not seed token versions, only changes from now on are known: %s", e.getMessage());
+            }
+        }
+        LOG.infof("Seeded token versions for %d users", seeded);
+    }
+
+    void onNotification(String payload) {
+        // id:version; no email, since every LISTEN client on the database sees the payload
+        String[] parts = payload.split(":");
+        if (parts.length != 2) {
+            LOG.warnf("Ignoring malformed user state notification: %s", payload);
+            return;
+        }
+
+        long id;
+        long version;
+        try {
+            id = Long.parseLong(parts[0]);
+            version = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            LOG.warnf("Ignoring malformed user state notification: %s", payload);
+            return;
+        }
+
+        versions.asMap().merge(id, version, Math::max);
+        entityManagerFactory.getCache().evict(User.class, id);
+    }
+}
@@ -0,0 +1,132 @@
+package org.oppexai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.jwt.auth.principal.JWTParser;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+import org.oppexai.dto.request.LoginRequest;
+import org.oppexai.dto.request.SignUpRequest;
+import org.oppexai.dto.response.AuthResponse;
+import org.oppexai.dto.response.MessageResponse;
+import org.oppexai.repository.UserRepository;
+import org.oppexai.util.CwtCodec;
+import org.oppexai.util.JwtUtil;
+import org.oppexai.util.PasswordUtil;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Exercises the hot paths with synthetic input after startup so the JIT, Hibernate
+ * query plans, validators and the connection pool are warm before the instance
+ * reports ready. Only lookups for addresses in the reserved .invalid TLD are issued,
+ * so no real user data is read or written.
+ */
+@ApplicationScoped
+public class WarmupService {
+
+    private static final Logger LOG = Logger.getLogger(WarmupService.class);
+
+    private static final String WARMUP_EMAIL = "warmup@example.invalid";
+    private static final String WARMUP_PASSWORD = "Warmup@1234";
+
+    @Inject
+    ManagedExecutor managedExecutor;
+
+    @Inject
+    JwtUtil jwtUtil;
+
+    @Inject
+    JWTParser jwtParser;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Validator validator;
+
+    @Inject
+    UserRepository userRepository;
+
+    @ConfigProperty(name = "app.warmup.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.warmup.max-duration", defaultValue = "PT20S")
+    Duration maxDuration;
+
+    @ConfigProperty(name = "app.warmup.iterations", defaultValue = "500")
+    int iterations;
+
+    @ConfigProperty(name = "app.warmup.hash-iterations", defaultValue = "20")
+    int hashIterations;
+
+    private volatile boolean complete;
+    private volatile long durationMs = -1;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            complete = true;
+            return;
+        }
+        managedExecutor.runAsync(this::warmUp);
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        int done = 0;
+
+        try {
+            String hash = PasswordUtil.hashPassword(WARMUP_PASSWORD);
+            for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+                if (i < hashIterations) {
+                    PasswordUtil.verifyPassword(WARMUP_PASSWORD, hash);
+                }
+
+                String token = jwtUtil.generateToken(WARMUP_EMAIL, 0L, false);
+                if (CwtCodec.isCompact(token)) {
+                    jwtUtil.verifyCompact(token);
+                } else {
+                    jwtParser.parse(token);
+                }
+
+                byte[] json = objectMapper.writeValueAsBytes(new AuthResponse(token, WARMUP_EMAIL, false, "warmup"));
+                objectMapper.readValue(json, AuthResponse.class);
+                objectMapper.writeValueAsBytes(MessageResponse.success("warmup"));
+                objectMapper.readValue("{\"email\":\"" + WARMUP_EMAIL + "\",\"password\":\"" + WARMUP_PASSWORD + "\"}",
+                        LoginRequest.class);
+
+                validator.validate(new SignUpRequest(WARMUP_EMAIL, WARMUP_PASSWORD));
+                validator.validate(new LoginRequest(WARMUP_EMAIL, WARMUP_PASSWORD));
+
+                QuarkusTransaction.requiringNew().run(() -> {
+                    userRepository.findByEmail(WARMUP_EMAIL);
+                    userRepository.existsByEmail(WARMUP_EMAIL);
+                    userRepository.findByVerificationToken(UUID.randomUUID().toString());
+                });
+                done++;
+            }
+        } catch (Exception e) {
+            LOG.warnf("Warm-up stopped early: %s", e.getMessage());
+        } finally {
+            durationMs = (System.nanoTime() - start) / 1_000_000;
+            complete = true;
+            LOG.infof("Warm-up finished in %d ms (%d iterations)", durationMs, done);
+        }
+    }
+}
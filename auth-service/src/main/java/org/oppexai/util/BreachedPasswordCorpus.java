@@ -0,0 +1,152 @@
+package org.oppexai.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Read-only view of a breached-password corpus file written by {@link BreachedPasswordCorpusConverter}.
+ * <pre>
+ * header   magic "BRPWSHA1", int version, int prefix bits (16), long record count
+ * index    65537 longs: first record number of each 16-bit hash prefix, then the total
+ * records  sorted SHA-1 hashes without their 2-byte prefix, 18 bytes each
+ * </pre>
+ * The file is memory-mapped (in 1 GB chunks, so corpora over 2 GB work) and never copied
+ * onto the heap; a lookup is one index read plus a binary search inside a single prefix bucket.
+ */
+public final class BreachedPasswordCorpus implements Closeable {
+
+    static final byte[] MAGIC = "BRPWSHA1".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final int PREFIX_BITS = 16;
+    static final int BUCKETS = 1 << PREFIX_BITS;
+    static final int HASH_LENGTH = 20;
+    static final int RECORD_LENGTH = HASH_LENGTH - PREFIX_BITS / 8;
+    static final int HEADER_LENGTH = MAGIC.length + Integer.BYTES + Integer.BYTES + Long.BYTES;
+    static final long RECORDS_OFFSET = HEADER_LENGTH + (BUCKETS + 1L) * Long.BYTES;
+
+    private static final long RECORDS_PER_CHUNK = (1L << 30) / RECORD_LENGTH;
+
+    private final MappedByteBuffer index;
+    private final MappedByteBuffer[] chunks;
+    private final long count;
+
+    private BreachedPasswordCorpus(MappedByteBuffer index, MappedByteBuffer[] chunks, long count) {
+        this.index = index;
+        this.chunks = chunks;
+        this.count = count;
+    }
+
+    public static BreachedPasswordCorpus open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading
+            }
+            header.flip();
+            byte[] magic = new byte[MAGIC.length];
+            if (header.remaining() < HEADER_LENGTH) {
+                throw new IOException("Not a breached-password corpus: " + file);
+            }
+            header.get(magic);
+            int version = header.getInt();
+            int prefixBits = header.getInt();
+            long count = header.getLong();
+            if (!Arrays.equals(magic, MAGIC) || version != VERSION || prefixBits != PREFIX_BITS) {
+                throw new IOException("Not a breached-password corpus (v" + VERSION + "): " + file);
+            }
+            if (channel.size() != RECORDS_OFFSET + count * RECORD_LENGTH) {
+                throw new IOException("Truncated breached-password corpus: " + file);
+            }
+
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_LENGTH,
+                    (BUCKETS + 1L) * Long.BYTES);
+            int chunkCount = (int) ((count + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long first = i * RECORDS_PER_CHUNK;
+                long records = Math.min(RECORDS_PER_CHUNK, count - first);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        RECORDS_OFFSET + first * RECORD_LENGTH, records * RECORD_LENGTH);
+            }
+            // Mappings stay valid after the channel is closed
+            return new BreachedPasswordCorpus(index, chunks, count);
+        }
+    }
+
+    public boolean containsPassword(String password) {
+        return containsHash(sha1(password));
+    }
+
+    /**
+     * @param hash the 20-byte SHA-1 digest
+     */
+    public boolean containsHash(byte[] hash) {
+        int prefix = ((hash[0] & 0xFF) << 8) | (hash[1] & 0xFF);
+        long high = readLong(hash, 2);
+        long middle = readLong(hash, 10);
+        int low = ((hash[18] & 0xFF) << 8) | (hash[19] & 0xFF);
+
+        long from = index.getLong(prefix * Long.BYTES);
+        long to = index.getLong((prefix + 1) * Long.BYTES) - 1;
+        while (from <= to) {
+            long mid = (from + to) >>> 1;
+            int cmp = compareRecord(mid, high, middle, low);
+            if (cmp < 0) {
+                from = mid + 1;
+            } else if (cmp > 0) {
+                to = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long size() {
+        return count;
+    }
+
+    @Override
+    public void close() {
+        // Mapped buffers are released by the GC once unreachable
+    }
+
+    static byte[] sha1(String password) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 unavailable", e);
+        }
+    }
+
+    static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private int compareRecord(long record, long high, long middle, int low) {
+        MappedByteBuffer chunk = chunks[(int) (record / RECORDS_PER_CHUNK)];
+        int offset = (int) ((record % RECORDS_PER_CHUNK) * RECORD_LENGTH);
+        int cmp = Long.compareUnsigned(chunk.getLong(offset), high);
+        if (cmp != 0) {
+            return cmp;
+        }
+        cmp = Long.compareUnsigned(chunk.getLong(offset + 8), middle);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return Integer.compare(chunk.getShort(offset + 16) & 0xFFFF, low);
+    }
+}
@@ -0,0 +1,131 @@
+package org.oppexai.util;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.oppexai.util.BreachedPasswordCorpus.*;
+
+/**
+ * Converts a text corpus of SHA-1 password hashes into the binary format read by
+ * {@link BreachedPasswordCorpus}.
+ * Input is one {@code HASH[:COUNT]} per line (the Have I Been Pwned "ordered by hash"
+ * SHA-1 download has this shape), sorted by hash. It is streamed, so the input can be
+ * far larger than the heap.
+ * <pre>
+ * java -cp auth-service.jar org.oppexai.util.BreachedPasswordCorpusConverter pwned-passwords-sha1.txt breached.bin [minCount]
+ * </pre>
+ */
+public final class BreachedPasswordCorpusConverter {
+
+    private BreachedPasswordCorpusConverter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BreachedPasswordCorpusConverter <input.txt> <output.bin> [minCount]");
+            System.exit(2);
+        }
+        long minCount = args.length == 3 ? Long.parseLong(args[2]) : 1;
+        try (BufferedReader in = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.US_ASCII)) {
+            long written = convert(in, Path.of(args[1]), minCount);
+            System.out.printf("Wrote %d hashes to %s%n", written, args[1]);
+        }
+    }
+
+    /**
+     * Hashes seen fewer than minCount times are left out (lines without a count always pass).
+     * The output is written next to the target and moved into place when complete.
+     * @return number of hashes written
+     */
+    public static long convert(BufferedReader in, Path output, long minCount) throws IOException {
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        long[] bucketSizes = new long[BUCKETS];
+        long count = 0;
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(RECORDS_OFFSET);
+            OutputStream records = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 20);
+
+            byte[] previous = null;
+            byte[] hash = new byte[HASH_LENGTH];
+            String line;
+            long lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                int colon = line.indexOf(':');
+                if (colon >= 0 && Long.parseLong(line.substring(colon + 1).trim()) < minCount) {
+                    continue;
+                }
+                parseHex(colon >= 0 ? line.substring(0, colon).trim() : line.trim(), hash, lineNumber);
+
+                if (previous != null) {
+                    int cmp = Arrays.compareUnsigned(previous, hash);
+                    if (cmp == 0) {
+                        continue;
+                    }
+                    if (cmp > 0) {
+                        throw new IllegalArgumentException("Input is not sorted by hash at line " + lineNumber);
+                    }
+                } else {
+                    previous = new byte[HASH_LENGTH];
+                }
+                System.arraycopy(hash, 0, previous, 0, HASH_LENGTH);
+
+                bucketSizes[((hash[0] & 0xFF) << 8) | (hash[1] & 0xFF)]++;
+                records.write(hash, HASH_LENGTH - RECORD_LENGTH, RECORD_LENGTH);
+                count++;
+            }
+            records.flush();
+
+            ByteBuffer header = ByteBuffer.allocate((int) RECORDS_OFFSET);
+            header.put(MAGIC).putInt(VERSION).putInt(PREFIX_BITS).putLong(count);
+            long start = 0;
+            for (long size : bucketSizes) {
+                header.putLong(start);
+                start += size;
+            }
+            header.putLong(count);
+            header.flip();
+            long position = 0;
+            while (header.hasRemaining()) {
+                position += channel.write(header, position);
+            }
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    private static void parseHex(String hex, byte[] target, long lineNumber) {
+        if (hex.length() != HASH_LENGTH * 2) {
+            throw new IllegalArgumentException("Expected a 40-character SHA-1 hash at line " + lineNumber);
+        }
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            int hi = Character.digit(hex.charAt(2 * i), 16);
+            int lo = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (hi < 0 || lo < 0) {
+                throw new IllegalArgumentException("Invalid hex at line " + lineNumber);
+            }
+            target[i] = (byte) ((hi << 4) | lo);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.oppexai.util;
+
+import io.smallrye.jwt.auth.principal.DefaultJWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.DefaultJWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+
+import java.util.ArrayList;
+
+/**
+ * Lets bearer authentication accept both token formats: JWTs go to the default
+ * smallrye-jwt factory, compact CWTs are verified by {@link JwtUtil} and mapped onto
+ * the same claim names, so {@code JsonWebToken} injection and role checks are unchanged.
+ */
+@ApplicationScoped
+@Alternative
+@Priority(1)
+public class CompactTokenPrincipalFactory extends JWTCallerPrincipalFactory {
+
+    private final DefaultJWTCallerPrincipalFactory jwtFactory = new DefaultJWTCallerPrincipalFactory();
+
+    @Inject
+    JwtUtil jwtUtil;
+
+    @Override
+    public JWTCallerPrincipal parse(String token, JWTAuthContextInfo authContextInfo) throws ParseException {
+        if (!CwtCodec.isCompact(token)) {
+            return jwtFactory.parse(token, authContextInfo);
+        }
+
+        CwtCodec.Claims claims;
+        try {
+            claims = jwtUtil.verifyCompact(token);
+        } catch (CwtCodec.InvalidTokenException e) {
+            throw new ParseException(e.getMessage());
+        }
+
+        JwtClaims jwtClaims = new JwtClaims();
+        jwtClaims.setIssuer(JwtUtil.ISSUER);
+        jwtClaims.setSubject(claims.getSubject());
+        jwtClaims.setClaim("upn", claims.getSubject());
+        jwtClaims.setClaim("email", claims.getSubject());
+        jwtClaims.setIssuedAt(NumericDate.fromSeconds(claims.getIssuedAt()));
+        jwtClaims.setExpirationTime(NumericDate.fromSeconds(claims.getExpiresAt()));
+        if (claims.getUserId() != null) {
+            jwtClaims.setClaim("userId", claims.getUserId());
+        }
+        if (claims.getIsVerified() != null) {
+            jwtClaims.setClaim("isVerified", claims.getIsVerified());
+        }
+        if (claims.getVersion() != null) {
+            jwtClaims.setClaim("ver", claims.getVersion());
+        }
+        jwtClaims.setStringListClaim("groups", new ArrayList<>(claims.getGroups()));
+        return new DefaultJWTCallerPrincipal(token, "CWT", jwtClaims);
+    }
+}
@@ -0,0 +1,456 @@
+package org.oppexai.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CBOR Web Tokens (RFC 8392) for the compact token format.
+ * Claims are a CBOR map with integer keys, authenticated with COSE_Mac0 / HMAC 256/256
+ * (RFC 9052), and the tagged structure is sent base64url-encoded as the bearer token.
+ * Only the handful of CBOR types the claims need are supported; anything else is rejected.
+ */
+public final class CwtCodec {
+
+    private static final int COSE_MAC0_TAG = 17;
+    private static final int MAC_LENGTH = 32;
+    private static final int MAX_DEPTH = 4;
+
+    // {1 (alg): 5 (HMAC 256/256)}; the only protected header accepted on decode
+    private static final byte[] PROTECTED_HEADER = {(byte) 0xA1, 0x01, 0x05};
+
+    // Registered claim keys
+    static final long ISS = 1;
+    static final long SUB = 2;
+    static final long EXP = 4;
+    static final long IAT = 6;
+
+    // Private-use claim keys (below -65536)
+    static final long USER_ID = -65537;
+    static final long IS_VERIFIED = -65538;
+    static final long VERSION = -65539;
+    static final long GROUPS = -65540;
+
+    private final SecretKeySpec key;
+    private final String issuer;
+    private final ThreadLocal<Mac> mac;
+
+    public CwtCodec(byte[] key, String issuer) {
+        this.key = new SecretKeySpec(key, "HmacSHA256");
+        this.issuer = issuer;
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Compact tokens are base64url without dots, so they can never be mistaken for a JWS.
+     */
+    public static boolean isCompact(String token) {
+        return token != null && !token.isEmpty() && token.indexOf('.') < 0;
+    }
+
+    public String encode(Claims claims) {
+        CborWriter payload = new CborWriter();
+        int entries = 4 + (claims.userId != null ? 1 : 0) + (claims.isVerified != null ? 1 : 0)
+                + (claims.version != null ? 1 : 0) + (claims.groups.isEmpty() ? 0 : 1);
+        payload.map(entries);
+        payload.integer(ISS).text(issuer);
+        payload.integer(SUB).text(claims.subject);
+        payload.integer(EXP).integer(claims.expiresAt);
+        payload.integer(IAT).integer(claims.issuedAt);
+        if (claims.userId != null) {
+            payload.integer(USER_ID).integer(claims.userId);
+        }
+        if (claims.isVerified != null) {
+            payload.integer(IS_VERIFIED).bool(claims.isVerified);
+        }
+        if (claims.version != null) {
+            payload.integer(VERSION).integer(claims.version);
+        }
+        if (!claims.groups.isEmpty()) {
+            payload.integer(GROUPS).array(claims.groups.size());
+            for (String group : claims.groups) {
+                payload.text(group);
+            }
+        }
+        byte[] payloadBytes = payload.toByteArray();
+
+        CborWriter token = new CborWriter();
+        token.tag(COSE_MAC0_TAG).array(4)
+                .bytes(PROTECTED_HEADER)
+                .map(0)
+                .bytes(payloadBytes)
+                .bytes(tag(payloadBytes));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toByteArray());
+    }
+
+    /**
+     * Verifies the MAC, issuer and expiry.
+     */
+    public Claims decode(String token) throws InvalidTokenException {
+        if (!isCompact(token)) {
+            throw new InvalidTokenException("Not a compact token");
+        }
+        try {
+            CborReader reader = new CborReader(Base64.getUrlDecoder().decode(token));
+            if (reader.peekMajorType() == 6 && reader.head(6) != COSE_MAC0_TAG) {
+                throw new InvalidTokenException("Unexpected CBOR tag");
+            }
+            List<?> mac0 = asList(reader.item(0));
+            reader.requireEnd();
+            if (mac0.size() != 4
+                    || !(mac0.get(0) instanceof byte[] protectedHeader)
+                    || !(mac0.get(1) instanceof Map)
+                    || !(mac0.get(2) instanceof byte[] payload)
+                    || !(mac0.get(3) instanceof byte[] tag)) {
+                throw new InvalidTokenException("Malformed COSE_Mac0 structure");
+            }
+            if (!Arrays.equals(protectedHeader, PROTECTED_HEADER)) {
+                throw new InvalidTokenException("Unsupported algorithm");
+            }
+            if (tag.length != MAC_LENGTH || !MessageDigest.isEqual(tag, tag(payload))) {
+                throw new InvalidTokenException("Invalid MAC");
+            }
+
+            CborReader payloadReader = new CborReader(payload);
+            Map<?, ?> map = asMap(payloadReader.item(0));
+            payloadReader.requireEnd();
+            return toClaims(map);
+        } catch (IllegalArgumentException | ClassCastException e) {
+            throw new InvalidTokenException("Malformed token: " + e.getMessage());
+        }
+    }
+
+    private Claims toClaims(Map<?, ?> map) throws InvalidTokenException {
+        if (!issuer.equals(map.get(ISS))) {
+            throw new InvalidTokenException("Unexpected issuer");
+        }
+        if (!(map.get(SUB) instanceof String subject)
+                || !(map.get(EXP) instanceof Long expiresAt)
+                || !(map.get(IAT) instanceof Long issuedAt)) {
+            throw new InvalidTokenException("Missing required claims");
+        }
+        if (expiresAt <= Instant.now().getEpochSecond()) {
+            throw new InvalidTokenException("Token expired");
+        }
+
+        Set<String> groups = new LinkedHashSet<>();
+        if (map.get(GROUPS) instanceof List<?> list) {
+            for (Object group : list) {
+                groups.add((String) group);
+            }
+        }
+        return new Claims(subject, (Long) map.get(USER_ID), (Boolean) map.get(IS_VERIFIED),
+                (Long) map.get(VERSION), groups, issuedAt, expiresAt);
+    }
+
+    /**
+     * HMAC over the COSE MAC_structure ["MAC0", protected, external_aad, payload].
+     */
+    private byte[] tag(byte[] payload) {
+        byte[] toBeMaced = new CborWriter()
+                .array(4)
+                .text("MAC0")
+                .bytes(PROTECTED_HEADER)
+                .bytes(new byte[0])
+                .bytes(payload)
+                .toByteArray();
+        return mac.get().doFinal(toBeMaced);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance("HmacSHA256");
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private static List<?> asList(Object item) {
+        return (List<?>) item;
+    }
+
+    private static Map<?, ?> asMap(Object item) {
+        return (Map<?, ?>) item;
+    }
+
+    /**
+     * The claims carried by a compact token. Times are epoch seconds.
+     */
+    public static final class Claims {
+
+        private final String subject;
+        private final Long userId;
+        private final Boolean isVerified;
+        private final Long version;
+        private final Set<String> groups;
+        private final long issuedAt;
+        private final long expiresAt;
+
+        public Claims(String subject, Long userId, Boolean isVerified, Long version,
+                      Set<String> groups, long issuedAt, long expiresAt) {
+            this.subject = subject;
+            this.userId = userId;
+            this.isVerified = isVerified;
+            this.version = version;
+            this.groups = groups != null ? Collections.unmodifiableSet(groups) : Set.of();
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public Boolean getIsVerified() {
+            return isVerified;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public Set<String> getGroups() {
+            return groups;
+        }
+
+        public long getIssuedAt() {
+            return issuedAt;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    public static class InvalidTokenException extends Exception {
+
+        public InvalidTokenException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class CborWriter {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+
+        CborWriter integer(long value) {
+            return value >= 0 ? head(0, value) : head(1, -1 - value);
+        }
+
+        CborWriter bytes(byte[] value) {
+            head(2, value.length);
+            out.writeBytes(value);
+            return this;
+        }
+
+        CborWriter text(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            head(3, utf8.length);
+            out.writeBytes(utf8);
+            return this;
+        }
+
+        CborWriter array(int size) {
+            return head(4, size);
+        }
+
+        CborWriter map(int size) {
+            return head(5, size);
+        }
+
+        CborWriter tag(long tag) {
+            return head(6, tag);
+        }
+
+        CborWriter bool(boolean value) {
+            out.write(value ? 0xF5 : 0xF4);
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+
+        private CborWriter head(int majorType, long value) {
+            int major = majorType << 5;
+            if (value < 24) {
+                out.write(major | (int) value);
+            } else if (value < 0x100) {
+                out.write(major | 24);
+                out.write((int) value);
+            } else if (value < 0x10000) {
+                out.write(major | 25);
+                writeBigEndian(value, 2);
+            } else if (value < 0x100000000L) {
+                out.write(major | 26);
+                writeBigEndian(value, 4);
+            } else {
+                out.write(major | 27);
+                writeBigEndian(value, 8);
+            }
+            return this;
+        }
+
+        private void writeBigEndian(long value, int length) {
+            for (int shift = (length - 1) * 8; shift >= 0; shift -= 8) {
+                out.write((int) (value >>> shift) & 0xFF);
+            }
+        }
+    }
+
+    /**
+     * Strict reader: definite lengths only, no floats, no nested tags.
+     */
+    private static final class CborReader {
+
+        private final byte[] data;
+        private int position;
+
+        CborReader(byte[] data) {
+            this.data = data;
+        }
+
+        int peekMajorType() {
+            requireAvailable(1);
+            return (data[position] & 0xFF) >>> 5;
+        }
+
+        long head(int expectedMajorType) {
+            int initial = data[position] & 0xFF;
+            if (initial >>> 5 != expectedMajorType) {
+                throw new IllegalArgumentException("unexpected CBOR type");
+            }
+            return argument(initial & 0x1F);
+        }
+
+        Object item(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("CBOR nesting too deep");
+            }
+            requireAvailable(1);
+            int initial = data[position] & 0xFF;
+            int majorType = initial >>> 5;
+            int info = initial & 0x1F;
+
+            if (majorType == 7) {
+                position++;
+                return switch (info) {
+                    case 20 -> Boolean.FALSE;
+                    case 21 -> Boolean.TRUE;
+                    case 22 -> null;
+                    default -> throw new IllegalArgumentException("unsupported CBOR simple value");
+                };
+            }
+
+            long value = argument(info);
+            switch (majorType) {
+                case 0:
+                    return nonNegative(value);
+                case 1:
+                    return -1 - nonNegative(value);
+                case 2:
+                    return take(value);
+                case 3:
+                    return new String(take(value), StandardCharsets.UTF_8);
+                case 4: {
+                    int size = count(value);
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(item(depth + 1));
+                    }
+                    return list;
+                }
+                case 5: {
+                    int size = count(value);
+                    Map<Object, Object> map = new LinkedHashMap<>();
+                    for (int i = 0; i < size; i++) {
+                        Object key = item(depth + 1);
+                        if (map.put(key, item(depth + 1)) != null) {
+                            throw new IllegalArgumentException("duplicate CBOR map key");
+                        }
+                    }
+                    return map;
+                }
+                default:
+                    throw new IllegalArgumentException("unsupported CBOR type");
+            }
+        }
+
+        void requireEnd() {
+            if (position != data.length) {
+                throw new IllegalArgumentException("trailing bytes");
+            }
+        }
+
+        private long argument(int info) {
+            position++;
+            int length;
+            if (info < 24) {
+                return info;
+            } else if (info == 24) {
+                length = 1;
+            } else if (info == 25) {
+                length = 2;
+            } else if (info == 26) {
+                length = 4;
+            } else if (info == 27) {
+                length = 8;
+            } else {
+                throw new IllegalArgumentException("indefinite or reserved CBOR length");
+            }
+            requireAvailable(length);
+            long value = 0;
+            for (int i = 0; i < length; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private static long nonNegative(long value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("CBOR integer out of range");
+            }
+            return value;
+        }
+
+        private int count(long value) {
+            // Every element takes at least one byte
+            if (value < 0 || value > data.length - position) {
+                throw new IllegalArgumentException("CBOR length out of range");
+            }
+            return (int) value;
+        }
+
+        private byte[] take(long length) {
+            int size = count(length);
+            byte[] bytes = Arrays.copyOfRange(data, position, position + size);
+            position += size;
+            return bytes;
+        }
+
+        private void requireAvailable(int length) {
+            if (data.length - position < length) {
+                throw new IllegalArgumentException("truncated CBOR");
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.oppexai.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Immutable set of domains stored as a sorted array of 64-bit fingerprints
+ * (8 bytes per domain, so a list of 500k domains takes ~4 MB).
+ * A lookup walks the address right to left once, hashing as it goes, and
+ * binary-searches the fingerprint of every suffix that starts at a label boundary:
+ * listing "mailinator.com" also blocks "x.mailinator.com". Lookups allocate nothing.
+ * Distinct domains share a fingerprint with probability ~n/2^64, i.e. never in practice.
+ */
+public final class DomainSet {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final DomainSet EMPTY = new DomainSet(new long[0]);
+
+    private final long[] fingerprints;
+
+    private DomainSet(long[] fingerprints) {
+        this.fingerprints = fingerprints;
+    }
+
+    public static DomainSet empty() {
+        return EMPTY;
+    }
+
+    public static DomainSet of(String... domains) {
+        long[] fingerprints = new long[domains.length];
+        int size = 0;
+        for (String domain : domains) {
+            String normalized = normalize(domain);
+            if (normalized != null) {
+                fingerprints[size++] = fingerprint(normalized);
+            }
+        }
+        return build(fingerprints, size);
+    }
+
+    /**
+     * One domain per line; blank lines and lines starting with # are skipped,
+     * a leading "*." or "." is ignored.
+     */
+    public static DomainSet read(Reader source) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        long[] fingerprints = new long[1024];
+        int size = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String normalized = normalize(line);
+            if (normalized == null) {
+                continue;
+            }
+            if (size == fingerprints.length) {
+                fingerprints = Arrays.copyOf(fingerprints, size * 2);
+            }
+            fingerprints[size++] = fingerprint(normalized);
+        }
+        return build(fingerprints, size);
+    }
+
+    /**
+     * @return true if the domain part of the email, or any parent domain of it, is in the set
+     */
+    public boolean containsDomainOf(String email) {
+        int at = email.lastIndexOf('@');
+        if (at < 0 || at == email.length() - 1) {
+            return false;
+        }
+        return containsDomain(email, at + 1);
+    }
+
+    public boolean containsDomain(String domain) {
+        return !domain.isEmpty() && containsDomain(domain, 0);
+    }
+
+    public int size() {
+        return fingerprints.length;
+    }
+
+    private boolean containsDomain(String value, int start) {
+        int end = value.length();
+        if (value.charAt(end - 1) == '.') {
+            end--;
+        }
+        long hash = FNV_OFFSET;
+        for (int i = end - 1; i >= start; i--) {
+            char c = value.charAt(i);
+            if (c == '.' && i + 1 < end && contains(mix(hash))) {
+                return true;
+            }
+            hash = (hash ^ lower(c)) * FNV_PRIME;
+        }
+        return contains(mix(hash));
+    }
+
+    private boolean contains(long fingerprint) {
+        return Arrays.binarySearch(fingerprints, fingerprint) >= 0;
+    }
+
+    /**
+     * Same right-to-left hash as the lookup, so a suffix's running hash equals its fingerprint.
+     */
+    static long fingerprint(String domain) {
+        long hash = FNV_OFFSET;
+        for (int i = domain.length() - 1; i >= 0; i--) {
+            hash = (hash ^ lower(domain.charAt(i))) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static DomainSet build(long[] fingerprints, int size) {
+        long[] sorted = Arrays.copyOf(fingerprints, size);
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[unique - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return new DomainSet(unique == sorted.length ? sorted : Arrays.copyOf(sorted, unique));
+    }
+
+    private static String normalize(String line) {
+        String domain = line.trim();
+        if (domain.isEmpty() || domain.startsWith("#")) {
+            return null;
+        }
+        if (domain.startsWith("*.")) {
+            domain = domain.substring(2);
+        } else if (domain.startsWith(".")) {
+            domain = domain.substring(1);
+        }
+        if (domain.endsWith(".")) {
+            domain = domain.substring(0, domain.length() - 1);
+        }
+        return domain.isEmpty() ? null : domain.toLowerCase(Locale.ROOT);
+    }
+
+    private static int lower(char c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    /**
+     * Murmur3 finalizer, so fingerprints of similar domains are spread over the whole range.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,12 +1,24 @@
 package org.oppexai.util;
 
 import io.smallrye.jwt.build.Jwt;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.oppexai.model.User;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
 
 @ApplicationScoped
@@ -16,40 +28,155 @@ public class JwtUtil {
     @ConfigProperty(name = "JWT_SIGNING_KEY")
     String secretKey;
 
-    private static final String ISSUER = "oppex-ai";
+    /**
+     * jwt: signed JSON claims (JWS, HS256). cwt: CBOR claims with a COSE_Mac0 tag, see {@link CwtCodec}.
+     */
+    public enum TokenFormat {
+        JWT,
+        CWT
+    }
+
+    @ConfigProperty(name = "app.token.format", defaultValue = "jwt")
+    TokenFormat tokenFormat;
+
+    /**
+     * Verified accounts with these emails get the "admin" group in addition to "user".
+     */
+    @ConfigProperty(name = "app.admin.emails")
+    Optional<List<String>> adminEmails;
+
+    public static final String ROLE_USER = "user";
+    public static final String ROLE_ADMIN = "admin";
+
+    public static final String ISSUER = "oppex-ai";
     private static final Duration TOKEN_EXPIRY = Duration.ofDays(30);
 
-    public String generateToken(User user) {
+    private CwtCodec cwtCodec;
+    private Set<String> admins;
+
+    @PostConstruct
+    void init() {
+        cwtCodec = new CwtCodec(deriveCwtKey(secretKey), ISSUER);
+        admins = new HashSet<>();
+        for (String email : adminEmails.orElse(List.of())) {
+            admins.add(normalize(email));
+        }
+    }
+
+    /**
+     * Unverified accounts never get admin, so registering an allowlisted address is not enough.
+     */
+    public Set<String> rolesFor(User user) {
         Set<String> roles = new HashSet<>();
-        roles.add("user");
+        roles.add(ROLE_USER);
+        if (Boolean.TRUE.equals(user.getIsVerified()) && user.getEmail() != null
+                && admins.contains(normalize(user.getEmail()))) {
+            roles.add(ROLE_ADMIN);
+        }
+        return roles;
+    }
 
+    public String generateToken(User user) {
+        Set<String> roles = rolesFor(user);
+
+        if (tokenFormat == TokenFormat.CWT) {
+            return compactToken(user.getEmail(), user.getId(), user.getIsVerified(), user.getTokenVersion(), roles);
+        }
         return Jwt.issuer(ISSUER)
                 .upn(user.getEmail())
                 .claim("userId", user.getId())
                 .claim("email", user.getEmail())
                 .claim("isVerified", user.getIsVerified())
+                .claim("ver", user.getTokenVersion())
                 .groups(roles)
                 .expiresIn(TOKEN_EXPIRY)
                 .signWithSecret(secretKey);
     }
 
     public String generateToken(String email, Long userId, Boolean isVerified) {
+        if (tokenFormat == TokenFormat.CWT) {
+            return compactToken(email, userId, isVerified, null, Set.of(ROLE_USER));
+        }
         return Jwt.issuer(ISSUER)
                 .upn(email)
                 .claim("userId", userId)
                 .claim("email", email)
                 .claim("isVerified", isVerified)
-                .groups("user")
+                .groups(ROLE_USER)
                 .expiresIn(TOKEN_EXPIRY)
                 .signWithSecret(secretKey);
     }
 
     public String generateToken(String email) {
+        if (tokenFormat == TokenFormat.CWT) {
+            return compactToken(email, null, null, null, Set.of(ROLE_USER));
+        }
         return Jwt.issuer(ISSUER)
                 .upn(email)
                 .claim("email", email)
-                .groups("user")
+                .groups(ROLE_USER)
                 .expiresIn(TOKEN_EXPIRY)
                 .signWithSecret(secretKey);
     }
-}
\ No newline at end of file
+
+    /**
+     * Verify a compact (CWT) token: MAC, issuer and expiry.
+     */
+    public CwtCodec.Claims verifyCompact(String token) throws CwtCodec.InvalidTokenException {
+        return cwtCodec.decode(token);
+    }
+
+    private String compactToken(String email, Long userId, Boolean isVerified, Long version, Set<String> groups) {
+        long now = Instant.now().getEpochSecond();
+        return cwtCodec.encode(new CwtCodec.Claims(email, userId, isVerified, version, groups,
+                now, now + TOKEN_EXPIRY.toSeconds()));
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Compact tokens get their own key derived from the signing secret, so a MAC
+     * from one format can never be replayed as the other.
+     */
+    private static byte[] deriveCwtKey(String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac.doFinal("oppex-ai cwt v1".getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot derive compact token key", e);
+        }
+    }
+
+    /**
+     * Custom claims come back from the parser as JSON-P values; normalize them.
+     */
+    public static Long claimAsLong(Object claim) {
+        if (claim instanceof JsonNumber number) {
+            return number.longValue();
+        }
+        if (claim instanceof Number number) {
+            return number.longValue();
+        }
+        return null;
+    }
+
+    public static Boolean claimAsBoolean(Object claim) {
+        if (claim instanceof Boolean bool) {
+            return bool;
+        }
+        if (claim instanceof JsonValue value) {
+            return value.getValueType() == JsonValue.ValueType.TRUE;
+        }
+        return null;
+    }
+
+    public static String claimAsString(Object claim) {
+        if (claim instanceof JsonString string) {
+            return string.getString();
+        }
+        return claim != null ? claim.toString() : null;
+    }
+}
@@ -0,0 +1,36 @@
+package org.oppexai.util;
+
+import io.smallrye.jwt.algorithm.SignatureAlgorithm;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.enterprise.inject.Produces;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Verifies JWTs with the same raw HS256 secret {@link JwtUtil} signs them with.
+ * mp.jwt.verify.publickey only takes PEM or JWK content, so a plain secret there
+ * leaves the verification key unresolvable and every bearer token is rejected.
+ */
+@ApplicationScoped
+public class JwtVerificationContext {
+
+    @ConfigProperty(name = "JWT_SIGNING_KEY")
+    String secretKey;
+
+    @Produces
+    @Alternative
+    @Priority(1)
+    @ApplicationScoped
+    JWTAuthContextInfo authContextInfo() {
+        JWTAuthContextInfo info = new JWTAuthContextInfo(
+                new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"), JwtUtil.ISSUER);
+        info.setSignatureAlgorithm(Set.of(SignatureAlgorithm.HS256));
+        return info;
+    }
+}
@@ -2,15 +2,34 @@ package org.oppexai.util;
 
 import io.quarkus.elytron.security.common.BcryptUtil;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class PasswordUtil {
 
     private static final int BCRYPT_COST = 10;
 
+    // BCrypt operations currently running or waiting for CPU; read by the readiness check
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+
     public static String hashPassword(String plainPassword) {
-        return BcryptUtil.bcryptHash(plainPassword, BCRYPT_COST);
+        IN_FLIGHT.incrementAndGet();
+        try {
+            return BcryptUtil.bcryptHash(plainPassword, BCRYPT_COST);
+        } finally {
+            IN_FLIGHT.decrementAndGet();
+        }
     }
 
     public static boolean verifyPassword(String plainPassword, String hashedPassword) {
-        return BcryptUtil.matches(plainPassword, hashedPassword);
+        IN_FLIGHT.incrementAndGet();
+        try {
+            return BcryptUtil.matches(plainPassword, hashedPassword);
+        } finally {
+            IN_FLIGHT.decrementAndGet();
+        }
+    }
+
+    public static int hashingInFlight() {
+        return IN_FLIGHT.get();
     }
-}
\ No newline at end of file
+}
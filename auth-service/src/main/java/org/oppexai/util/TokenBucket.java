@@ -0,0 +1,43 @@
+package org.oppexai.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter: refills continuously at a fixed rate up to a burst capacity.
+ * A request may take several permits at once (e.g. one per token in an introspection batch).
+ */
+public class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+
+    private double available;
+    private long lastRefill;
+
+    public TokenBucket(double permitsPerSecond, double capacity) {
+        this(permitsPerSecond, capacity, System::nanoTime);
+    }
+
+    public TokenBucket(double permitsPerSecond, double capacity, LongSupplier nanoClock) {
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+        this.available = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * @return true if the permits were taken; nothing is taken otherwise
+     */
+    public synchronized boolean tryAcquire(int permits) {
+        long now = nanoClock.getAsLong();
+        available = Math.min(capacity, available + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+        if (available < permits) {
+            return false;
+        }
+        available -= permits;
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package org.oppexai.dto.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oppexai.util.MicroBenchmark;
+
+import java.io.UncheckedIOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PreEncodedResponses Benchmark")
+class PreEncodedResponsesBenchmark {
+
+    private static final int ITERATIONS = 200_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Pre-encoded constant vs Jackson serialization of the same MessageResponse")
+    void benchmarkInvalidCredentials() {
+        assertArrayEquals(jackson(), PreEncodedResponses.INVALID_CREDENTIALS);
+
+        double jackson = MicroBenchmark.run("Jackson writeValueAsBytes(MessageResponse)", ITERATIONS, this::jackson);
+        double preEncoded = MicroBenchmark.run("PreEncodedResponses constant", ITERATIONS,
+                () -> PreEncodedResponses.INVALID_CREDENTIALS);
+
+        assertTrue(jackson > 0 && preEncoded > 0);
+    }
+
+    private byte[] jackson() {
+        try {
+            return objectMapper.writeValueAsBytes(MessageResponse.error("Invalid email or password"));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.oppexai.dto.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PreEncodedResponses Test Suite")
+class PreEncodedResponsesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should encode exactly what Jackson produces for MessageResponse")
+    void testEncode_MatchesJackson() throws Exception {
+        String message = "Logged out successfully";
+
+        byte[] expected = objectMapper.writeValueAsBytes(MessageResponse.success(message));
+
+        assertArrayEquals(expected, PreEncodedResponses.encode(message, true));
+        assertArrayEquals(expected, PreEncodedResponses.LOGOUT_SUCCESS);
+    }
+
+    @Test
+    @DisplayName("Should escape quotes and backslashes")
+    void testEncode_Escaping() throws Exception {
+        String message = "Say \"hi\" \\ bye";
+
+        byte[] expected = objectMapper.writeValueAsBytes(MessageResponse.error(message));
+
+        assertArrayEquals(expected, PreEncodedResponses.encode(message, false));
+    }
+
+    @Test
+    @DisplayName("Should round-trip every constant response")
+    void testConstants_AreValidMessageResponses() throws Exception {
+        MessageResponse signup = objectMapper.readValue(PreEncodedResponses.SIGNUP_SUCCESS, MessageResponse.class);
+        MessageResponse invalid = objectMapper.readValue(PreEncodedResponses.INVALID_CREDENTIALS, MessageResponse.class);
+
+        assertTrue(signup.isSuccess());
+        assertFalse(invalid.isSuccess());
+        assertEquals("Invalid email or password", invalid.getMessage());
+    }
+}
@@ -0,0 +1,56 @@
+package org.oppexai.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardRouter Test Suite")
+class ShardRouterTest {
+
+    @Test
+    @DisplayName("Should route the same email to the same shard regardless of case and whitespace")
+    void testShardFor_Normalized() {
+        assertEquals(
+                ShardRouter.shardFor("Test@Example.com", 8),
+                ShardRouter.shardFor("  test@example.com ", 8)
+        );
+    }
+
+    @Test
+    @DisplayName("Should always route to shard 0 with a single shard")
+    void testShardFor_SingleShard() {
+        assertEquals(0, ShardRouter.shardFor("test@example.com", 1));
+    }
+
+    @Test
+    @DisplayName("Should only move users onto the new shard when a shard is added")
+    void testShardFor_MinimalMovement() {
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String email = "user" + i + "@example.com";
+            int before = ShardRouter.shardFor(email, 4);
+            int after = ShardRouter.shardFor(email, 5);
+            if (before != after) {
+                assertEquals(4, after, "A moved user must land on the added shard");
+                moved++;
+            }
+        }
+        // Roughly 1/5 of the users should move
+        assertTrue(moved > 1_500 && moved < 2_500, "Unexpected number of moved users: " + moved);
+    }
+
+    @Test
+    @DisplayName("Should keep ids from different shards apart and recover the creating shard")
+    void testIdBase_OriginShard() {
+        long sequenceValue = 12_345;
+        long shard0 = ShardRouter.idBase(0) + sequenceValue;
+        long shard3 = ShardRouter.idBase(3) + sequenceValue;
+
+        assertEquals(sequenceValue, shard0, "Shard 0 ids must stay plain sequence values");
+        assertNotEquals(shard0, shard3);
+        assertEquals(0, ShardRouter.originShard(shard0));
+        assertEquals(3, ShardRouter.originShard(shard3));
+        assertTrue(ShardRouter.idBase(8191) < (1L << 53), "Ids must stay exact in JSON numbers");
+    }
+}
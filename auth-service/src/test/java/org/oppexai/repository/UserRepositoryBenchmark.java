@@ -0,0 +1,61 @@
+package org.oppexai.repository;
+
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oppexai.model.User;
+import org.oppexai.util.MicroBenchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the H2 test database by default; override the %test datasource settings
+ * to measure Postgres round trips as well (see README, Benchmarks).
+ */
+@QuarkusTest
+@DisplayName("UserRepository Benchmark")
+class UserRepositoryBenchmark {
+
+    private static final int ITERATIONS = 2_000;
+    private static final String EMAIL = "benchmark@example.com";
+
+    @Inject
+    UserRepository userRepository;
+
+    @Test
+    @TestTransaction
+    @DisplayName("EXISTS named query vs Panache count for the signup duplicate check")
+    void benchmarkExistsByEmail() {
+        userRepository.persist(new User(EMAIL, "$2a$10$unused"));
+        userRepository.flush();
+        assertTrue(userRepository.existsByEmail(EMAIL));
+
+        double count = MicroBenchmark.run("count(\"email\", email) > 0", ITERATIONS,
+                () -> userRepository.count("email", EMAIL) > 0);
+        double exists = MicroBenchmark.run("existsByEmail (named, select 1 limit 1)", ITERATIONS,
+                () -> userRepository.existsByEmail(EMAIL));
+
+        assertTrue(count > 0 && exists > 0);
+    }
+
+    @Test
+    @TestTransaction
+    @DisplayName("Read-only vs managed load of a user by email, with an empty session each time")
+    void benchmarkFindByEmail() {
+        userRepository.persist(new User(EMAIL, "$2a$10$unused"));
+        userRepository.flush();
+
+        double managed = MicroBenchmark.run("findByEmail", ITERATIONS, () -> {
+            userRepository.getEntityManager().clear();
+            return userRepository.findByEmail(EMAIL);
+        });
+        double readOnly = MicroBenchmark.run("findByEmailReadOnly", ITERATIONS, () -> {
+            userRepository.getEntityManager().clear();
+            return userRepository.findByEmailReadOnly(EMAIL);
+        });
+
+        assertTrue(managed > 0 && readOnly > 0);
+    }
+}
@@ -0,0 +1,66 @@
+package org.oppexai.resource;
+
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oppexai.model.User;
+import org.oppexai.service.UserExportService;
+import org.oppexai.util.JwtUtil;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+@DisplayName("AdminResource authorization")
+class AdminResourceTest {
+
+    // Matches %test.app.admin.emails
+    private static final String ADMIN_EMAIL = "admin@example.com";
+
+    @Inject
+    JwtUtil jwtUtil;
+
+    @InjectMock
+    UserExportService userExportService;
+
+    private String tokenFor(String email, boolean verified) {
+        User user = new User(email, "unused");
+        user.setId(1L);
+        user.setIsVerified(verified);
+        user.setTokenVersion(0L);
+        return jwtUtil.generateToken(user);
+    }
+
+    @Test
+    @DisplayName("Should let a verified allowlisted account call an admin endpoint")
+    void testExport_AdminToken() throws Exception {
+        given().auth().oauth2(tokenFor(ADMIN_EMAIL, true))
+                .when().get("/api/admin/users/export")
+                .then().statusCode(200);
+
+        verify(userExportService).exportUsers(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should forbid admin endpoints to regular users")
+    void testExport_UserToken() throws Exception {
+        given().auth().oauth2(tokenFor("someone@example.com", true))
+                .when().get("/api/admin/users/export")
+                .then().statusCode(403);
+
+        verify(userExportService, never()).exportUsers(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not grant admin to an unverified allowlisted account")
+    void testRoles_UnverifiedAdminEmail() {
+        User user = new User(ADMIN_EMAIL, "unused");
+        user.setIsVerified(false);
+
+        assertFalse(jwtUtil.rolesFor(user).contains(JwtUtil.ROLE_ADMIN));
+    }
+}
@@ -0,0 +1,125 @@
+package org.oppexai.resource;
+
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.grpc.GrpcClientUtils;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import io.smallrye.mutiny.Multi;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oppexai.grpc.AuthInternal;
+import org.oppexai.grpc.GetUserRequest;
+import org.oppexai.grpc.ValidateTokenRequest;
+import org.oppexai.grpc.ValidateTokenResponse;
+import org.oppexai.model.User;
+import org.oppexai.service.TokenIntrospectionService;
+import org.oppexai.util.JwtUtil;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+
+@QuarkusTest
+@DisplayName("AuthGrpcService Test Suite")
+class AuthGrpcServiceTest {
+
+    // Matches %test.app.internal.service-keys
+    private static final String SERVICE_KEY = "test-service-key";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @GrpcClient("auth")
+    AuthInternal client;
+
+    @InjectSpy
+    TokenIntrospectionService introspectionService;
+
+    @Inject
+    JwtUtil jwtUtil;
+
+    private AuthInternal authenticated() {
+        Metadata headers = new Metadata();
+        headers.put(ServiceKeyInterceptor.SERVICE_KEY, SERVICE_KEY);
+        return GrpcClientUtils.attachHeaders(client, headers);
+    }
+
+    private String token() {
+        User user = new User("grpc@example.com", "unused");
+        user.setId(11L);
+        user.setIsVerified(true);
+        user.setTokenVersion(0L);
+        return jwtUtil.generateToken(user);
+    }
+
+    private static ValidateTokenRequest request(String token, long correlationId) {
+        return ValidateTokenRequest.newBuilder().setToken(token).setCorrelationId(correlationId).build();
+    }
+
+    @Test
+    @DisplayName("Should validate a token over a unary call")
+    void testValidateToken_Active() {
+        ValidateTokenResponse response = authenticated().validateToken(request(token(), 1L))
+                .await().atMost(TIMEOUT);
+
+        assertTrue(response.getActive());
+        assertEquals("grpc@example.com", response.getEmail());
+        assertEquals(11L, response.getUserId());
+        assertTrue(response.getVerified());
+        assertEquals(1L, response.getCorrelationId());
+    }
+
+    @Test
+    @DisplayName("Should reject calls without a service key as UNAUTHENTICATED")
+    void testValidateToken_NoServiceKey() {
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                () -> client.validateToken(request(token(), 1L)).await().atMost(TIMEOUT));
+
+        assertEquals(Status.Code.UNAUTHENTICATED, e.getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("Should answer every streamed request in order with its correlation id")
+    void testValidateTokenStream_InOrder() {
+        List<ValidateTokenResponse> responses = authenticated()
+                .validateTokenStream(Multi.createFrom().items(
+                        request(token(), 1L), request("not-a-token", 2L), request(token(), 3L)))
+                .collect().asList()
+                .await().atMost(TIMEOUT);
+
+        assertEquals(List.of(1L, 2L, 3L), responses.stream().map(ValidateTokenResponse::getCorrelationId).toList());
+        assertEquals(List.of(true, false, true), responses.stream().map(ValidateTokenResponse::getActive).toList());
+    }
+
+    @Test
+    @DisplayName("Should mark over-limit stream messages rate_limited and keep the stream open")
+    void testValidateTokenStream_RateLimited() {
+        doReturn(false).when(introspectionService).admit(anyString(), anyInt());
+
+        List<ValidateTokenResponse> responses = authenticated()
+                .validateTokenStream(Multi.createFrom().items(request(token(), 1L), request(token(), 2L)))
+                .collect().asList()
+                .await().atMost(TIMEOUT);
+
+        assertEquals(2, responses.size());
+        assertTrue(responses.stream().allMatch(ValidateTokenResponse::getRateLimited));
+        assertTrue(responses.stream().noneMatch(ValidateTokenResponse::getActive));
+        assertEquals(List.of(1L, 2L), responses.stream().map(ValidateTokenResponse::getCorrelationId).toList());
+    }
+
+    @Test
+    @DisplayName("Should fail GetUser for an unknown id with NOT_FOUND")
+    void testGetUser_NotFound() {
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                () -> authenticated().getUser(GetUserRequest.newBuilder().setId(987_654_321L).build())
+                        .await().atMost(TIMEOUT));
+
+        assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+    }
+}
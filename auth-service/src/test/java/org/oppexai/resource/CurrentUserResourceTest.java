@@ -0,0 +1,28 @@
+package org.oppexai.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oppexai.util.JwtUtil;
+
+import static io.restassured.RestAssured.given;
+
+@QuarkusTest
+@DisplayName("/api/auth/me")
+class CurrentUserResourceTest {
+
+    @Inject
+    JwtUtil jwtUtil;
+
+    @Test
+    @DisplayName("Should reject a valid token whose account no longer exists")
+    void testMe_DeletedAccount() {
+        // No userId claim forces a database refresh; the account was never stored
+        String token = jwtUtil.generateToken("deleted@example.com");
+
+        given().auth().oauth2(token)
+                .when().get("/api/auth/me")
+                .then().statusCode(401);
+    }
+}
@@ -0,0 +1,111 @@
+package org.oppexai.resource;
+
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oppexai.model.User;
+import org.oppexai.service.FlightRecordingService;
+import org.oppexai.util.JwtUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+@DisplayName("DiagnosticsResource Test Suite")
+class DiagnosticsResourceTest {
+
+    private static final String PATH = "/api/admin/diagnostics/recording";
+
+    @Inject
+    JwtUtil jwtUtil;
+
+    @InjectMock
+    FlightRecordingService flightRecordingService;
+
+    private String adminToken() {
+        // Matches %test.app.admin.emails
+        User user = new User("admin@example.com", "unused");
+        user.setId(1L);
+        user.setIsVerified(true);
+        user.setTokenVersion(0L);
+        return jwtUtil.generateToken(user);
+    }
+
+    @Test
+    @DisplayName("Should start a recording with the effective duration")
+    void testStart() {
+        when(flightRecordingService.start(Duration.ofSeconds(120))).thenReturn(Duration.ofSeconds(120));
+
+        given().auth().oauth2(adminToken())
+                .queryParam("durationSeconds", 120)
+                .when().post(PATH)
+                .then().statusCode(200);
+
+        verify(flightRecordingService).start(Duration.ofSeconds(120));
+    }
+
+    @Test
+    @DisplayName("Should answer 409 when a recording is already running")
+    void testStart_AlreadyRunning() {
+        when(flightRecordingService.start(any())).thenThrow(new IllegalStateException("A recording is already running"));
+
+        given().auth().oauth2(adminToken())
+                .when().post(PATH)
+                .then().statusCode(409);
+    }
+
+    @Test
+    @DisplayName("Should answer 404 when stopping without a running recording")
+    void testStop_NothingRunning() {
+        when(flightRecordingService.stop()).thenReturn(false);
+
+        given().auth().oauth2(adminToken())
+                .when().post(PATH + "/stop")
+                .then().statusCode(404);
+    }
+
+    @Test
+    @DisplayName("Should stream the dump and delete the temp file afterwards")
+    void testDump_DeletesTempFile() throws Exception {
+        Path file = Files.createTempFile("auth-service-test-", ".jfr");
+        Files.writeString(file, "recording");
+        when(flightRecordingService.dump()).thenReturn(file);
+
+        byte[] body = given().auth().oauth2(adminToken())
+                .when().get(PATH)
+                .then().statusCode(200)
+                .extract().asByteArray();
+
+        assertEquals("recording", new String(body, StandardCharsets.UTF_8));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("Should answer 404 when there is nothing to download")
+    void testDump_NothingRecorded() {
+        when(flightRecordingService.dump()).thenReturn(null);
+
+        given().auth().oauth2(adminToken())
+                .when().get(PATH)
+                .then().statusCode(404);
+    }
+
+    @Test
+    @DisplayName("Should discard the recording")
+    void testClose() {
+        given().auth().oauth2(adminToken())
+                .when().delete(PATH)
+                .then().statusCode(200);
+
+        verify(flightRecordingService).close();
+    }
+}
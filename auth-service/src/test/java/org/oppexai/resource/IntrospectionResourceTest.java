@@ -0,0 +1,57 @@
+package org.oppexai.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oppexai.model.User;
+import org.oppexai.service.ServiceCredentials;
+import org.oppexai.util.JwtUtil;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+
+@QuarkusTest
+@DisplayName("Introspection endpoint access")
+class IntrospectionResourceTest {
+
+    // Matches %test.app.internal.service-keys
+    private static final String SERVICE_KEY = "test-service-key";
+
+    @Inject
+    JwtUtil jwtUtil;
+
+    private String body() {
+        User user = new User("introspect@example.com", "unused");
+        user.setId(7L);
+        user.setIsVerified(true);
+        user.setTokenVersion(0L);
+        return "{\"tokens\":[\"" + jwtUtil.generateToken(user) + "\"]}";
+    }
+
+    @Test
+    @DisplayName("Should reject callers without a service key")
+    void testIntrospect_NoServiceKey() {
+        given().contentType(ContentType.JSON).body(body())
+                .when().post("/api/auth/introspect")
+                .then().statusCode(401);
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown service key")
+    void testIntrospect_WrongServiceKey() {
+        given().contentType(ContentType.JSON).header(ServiceCredentials.HEADER, "wrong").body(body())
+                .when().post("/api/auth/introspect")
+                .then().statusCode(401);
+    }
+
+    @Test
+    @DisplayName("Should introspect for a caller with a valid service key")
+    void testIntrospect_ValidServiceKey() {
+        given().contentType(ContentType.JSON).header(ServiceCredentials.HEADER, SERVICE_KEY).body(body())
+                .when().post("/api/auth/introspect")
+                .then().statusCode(200)
+                .body("results[0].active", is(true));
+    }
+}
@@ -0,0 +1,86 @@
+package org.oppexai.resource;
+
+import io.grpc.Context;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.oppexai.service.ServiceCredentials;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ServiceKeyInterceptor Test Suite")
+class ServiceKeyInterceptorTest {
+
+    private ServiceKeyInterceptor interceptor;
+    private ServerCall<Object, Object> call;
+    private ServerCallHandler<Object, Object> next;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        interceptor = new ServiceKeyInterceptor();
+        interceptor.serviceCredentials = mock(ServiceCredentials.class);
+        when(interceptor.serviceCredentials.authenticate("good-key")).thenReturn("gateway");
+
+        call = mock(ServerCall.class);
+        MethodDescriptor<Object, Object> method = mock(MethodDescriptor.class);
+        when(call.getMethodDescriptor()).thenReturn(method);
+        next = mock(ServerCallHandler.class);
+    }
+
+    @Test
+    @DisplayName("Should close calls without a service key as UNAUTHENTICATED")
+    void testInterceptCall_MissingKey() {
+        interceptor.interceptCall(call, new Metadata(), next);
+
+        assertClosedUnauthenticated();
+    }
+
+    @Test
+    @DisplayName("Should close calls with an unknown service key as UNAUTHENTICATED")
+    void testInterceptCall_WrongKey() {
+        interceptor.interceptCall(call, headers("bad-key"), next);
+
+        assertClosedUnauthenticated();
+    }
+
+    @Test
+    @DisplayName("Should pass calls with a valid key on with the caller name")
+    void testInterceptCall_ValidKey() {
+        AtomicReference<String> caller = new AtomicReference<>();
+        when(next.startCall(any(), any())).thenAnswer(invocation -> {
+            caller.set(ServiceKeyInterceptor.CALLER.get());
+            return new ServerCall.Listener<>() {
+            };
+        });
+
+        interceptor.interceptCall(call, headers("good-key"), next);
+
+        verify(call, never()).close(any(), any());
+        assertEquals("gateway", caller.get());
+        assertNull(ServiceKeyInterceptor.CALLER.get(Context.current()));
+    }
+
+    private void assertClosedUnauthenticated() {
+        ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+        verify(call).close(status.capture(), any(Metadata.class));
+        assertEquals(Status.Code.UNAUTHENTICATED, status.getValue().getCode());
+        verify(next, never()).startCall(any(), any());
+    }
+
+    private static Metadata headers(String key) {
+        Metadata headers = new Metadata();
+        headers.put(ServiceKeyInterceptor.SERVICE_KEY, key);
+        return headers;
+    }
+}
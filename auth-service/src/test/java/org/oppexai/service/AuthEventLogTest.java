@@ -0,0 +1,131 @@
+package org.oppexai.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.oppexai.repository.AuthEventRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AuthEventLog Test Suite")
+class AuthEventLogTest {
+
+    private AuthEventRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AuthEventRepository.class);
+    }
+
+    @Test
+    @DisplayName("Should drop and count incoming events when the buffer is full (drop-newest)")
+    void testRecord_DropNewest() {
+        AuthEventLog log = newLog(2, AuthEventLog.OverflowPolicy.DROP_NEWEST);
+
+        log.record(event("a@example.com"));
+        log.record(event("b@example.com"));
+        log.record(event("c@example.com"));
+
+        assertEquals(1, log.getDropped());
+        assertEquals(List.of("a@example.com", "b@example.com"), flushedEmails(log));
+    }
+
+    @Test
+    @DisplayName("Should evict and count the oldest event when the buffer is full (drop-oldest)")
+    void testRecord_DropOldest() {
+        AuthEventLog log = newLog(2, AuthEventLog.OverflowPolicy.DROP_OLDEST);
+
+        log.record(event("a@example.com"));
+        log.record(event("b@example.com"));
+        log.record(event("c@example.com"));
+
+        assertEquals(1, log.getDropped());
+        assertEquals(List.of("b@example.com", "c@example.com"), flushedEmails(log));
+    }
+
+    @Test
+    @DisplayName("Should wait for room and then drop when the buffer stays full (block)")
+    void testRecord_BlockTimesOut() {
+        AuthEventLog log = newLog(1, AuthEventLog.OverflowPolicy.BLOCK);
+
+        log.record(event("a@example.com"));
+        log.record(event("b@example.com"));
+
+        assertEquals(1, log.getDropped());
+    }
+
+    @Test
+    @DisplayName("Should write buffered events in batches of at most batch-size")
+    void testFlush_Batches() {
+        AuthEventLog log = newLog(10, AuthEventLog.OverflowPolicy.DROP_NEWEST);
+        log.batchSize = 3;
+        for (int i = 0; i < 5; i++) {
+            log.record(event(i + "@example.com"));
+        }
+
+        assertEquals(3, log.flush());
+        assertEquals(2, log.flush());
+        assertEquals(0, log.flush());
+
+        verify(repository, times(2)).insertBatch(anyList());
+        assertEquals(5, log.getWritten());
+    }
+
+    @Test
+    @DisplayName("Should count events of a failed write as failed")
+    void testFlush_WriteFails() {
+        AuthEventLog log = newLog(10, AuthEventLog.OverflowPolicy.DROP_NEWEST);
+        doThrow(new RuntimeException("db down")).when(repository).insertBatch(anyList());
+
+        log.record(event("a@example.com"));
+        log.flush();
+
+        assertEquals(1, log.getFailed());
+        assertEquals(0, log.getWritten());
+    }
+
+    @Test
+    @DisplayName("Should ignore events when disabled")
+    void testRecord_Disabled() {
+        AuthEventLog log = newLog(10, AuthEventLog.OverflowPolicy.DROP_NEWEST);
+        log.enabled = false;
+
+        log.record(event("a@example.com"));
+
+        assertEquals(0, log.flush());
+    }
+
+    private AuthEventLog newLog(int capacity, AuthEventLog.OverflowPolicy policy) {
+        AuthEventLog log = new AuthEventLog();
+        log.repository = repository;
+        log.registry = new SimpleMeterRegistry();
+        log.enabled = true;
+        log.capacity = capacity;
+        log.batchSize = 100;
+        log.maxLinger = Duration.ofMillis(10);
+        log.overflowPolicy = policy;
+        log.blockTimeout = Duration.ofMillis(5);
+        log.shutdownTimeout = Duration.ofSeconds(1);
+        log.init();
+        return log;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> flushedEmails(AuthEventLog log) {
+        log.flush();
+        ArgumentCaptor<List<AuthEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).insertBatch(captor.capture());
+        return captor.getValue().stream().map(AuthEvent::getEmail).toList();
+    }
+
+    private static AuthEvent event(String email) {
+        return AuthEvent.failure(AuthEvent.Type.LOGIN, email, "bad_password");
+    }
+}
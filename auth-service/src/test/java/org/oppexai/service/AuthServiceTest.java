@@ -35,6 +35,9 @@ class AuthServiceTest {
     @InjectMock
     JwtUtil jwtUtil;
 
+    @Inject
+    LoginActivityStore loginActivityStore;
+
     private User testUser;
     private static final String TEST_EMAIL = "test@example.com";
     private static final String TEST_PASSWORD = "Test@1234";
@@ -44,6 +47,7 @@ class AuthServiceTest {
     @BeforeEach
     void setUp() {
         Mockito.reset(userService, userRepository, jwtUtil);
+        loginActivityStore.clear();
 
         testUser = new User(TEST_EMAIL, PasswordUtil.hashPassword(TEST_PASSWORD));
         testUser.setId(TEST_USER_ID);
@@ -54,93 +58,139 @@ class AuthServiceTest {
     @DisplayName("Should successfully login with valid credentials")
     void testLogin_Success() {
         // Arrange
-        when(userService.findByEmail(TEST_EMAIL)).thenReturn(testUser);
-        when(jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID, true)).thenReturn(TEST_TOKEN);
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+        when(jwtUtil.generateToken(testUser)).thenReturn(TEST_TOKEN);
 
         // Act
-        String token = authService.login(TEST_EMAIL, TEST_PASSWORD);
+        LoginResult result = authService.login(TEST_EMAIL, TEST_PASSWORD);
 
         // Assert
-        assertNotNull(token);
-        assertEquals(TEST_TOKEN, token);
-        verify(userService, times(1)).findByEmail(TEST_EMAIL);
-        verify(jwtUtil, times(1)).generateToken(TEST_EMAIL, TEST_USER_ID, true);
+        assertTrue(result.isSuccess());
+        assertEquals(TEST_TOKEN, result.getToken());
+        assertSame(testUser, result.getUser());
+        verify(userRepository, times(1)).findByEmailReadOnly(TEST_EMAIL);
+        verify(jwtUtil, times(1)).generateToken(testUser);
     }
 
     @Test
-    @DisplayName("Should throw NotAuthorizedException with incorrect password")
+    @DisplayName("Should return failure with incorrect password")
     void testLogin_IncorrectPassword() {
 
         String wrongPassword = "WrongPassword@123";
-        when(userService.findByEmail(TEST_EMAIL)).thenReturn(testUser);
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.of(testUser));
 
-        NotAuthorizedException exception = assertThrows(
-                NotAuthorizedException.class,
-                () -> authService.login(TEST_EMAIL, wrongPassword)
-        );
+        LoginResult result = authService.login(TEST_EMAIL, wrongPassword);
 
-        assertNotNull(exception);
-        verify(userService, times(1)).findByEmail(TEST_EMAIL);
-        verify(jwtUtil, never()).generateToken(anyString(), anyLong(), anyBoolean());
+        assertFalse(result.isSuccess());
+        assertNull(result.getToken());
+        verify(userRepository, times(1)).findByEmailReadOnly(TEST_EMAIL);
+        verify(jwtUtil, never()).generateToken(any(User.class));
     }
 
     @Test
-    @DisplayName("Should throw NotAuthorizedException when user not found")
+    @DisplayName("Should return failure when user not found")
     void testLogin_UserNotFound() {
-        when(userService.findByEmail(TEST_EMAIL))
-                .thenThrow(new jakarta.ws.rs.NotFoundException("User not found"));
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.empty());
 
-        assertThrows(
-                jakarta.ws.rs.NotFoundException.class,
-                () -> authService.login(TEST_EMAIL, TEST_PASSWORD)
-        );
+        LoginResult result = authService.login(TEST_EMAIL, TEST_PASSWORD);
 
-        verify(userService, times(1)).findByEmail(TEST_EMAIL);
-        verify(jwtUtil, never()).generateToken(anyString(), anyLong(), anyBoolean());
+        assertFalse(result.isSuccess());
+        verify(userRepository, times(1)).findByEmailReadOnly(TEST_EMAIL);
+        verify(jwtUtil, never()).generateToken(any(User.class));
     }
 
     @Test
     @DisplayName("Should successfully login unverified user")
     void testLogin_UnverifiedUser() {
         testUser.setIsVerified(false);
-        when(userService.findByEmail(TEST_EMAIL)).thenReturn(testUser);
-        when(jwtUtil.generateToken(TEST_EMAIL, TEST_USER_ID, false)).thenReturn(TEST_TOKEN);
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+        when(jwtUtil.generateToken(testUser)).thenReturn(TEST_TOKEN);
 
-        String token = authService.login(TEST_EMAIL, TEST_PASSWORD);
+        LoginResult result = authService.login(TEST_EMAIL, TEST_PASSWORD);
 
-        assertNotNull(token);
-        assertEquals(TEST_TOKEN, token);
-        verify(userService, times(1)).findByEmail(TEST_EMAIL);
-        verify(jwtUtil, times(1)).generateToken(TEST_EMAIL, TEST_USER_ID, false);
+        assertTrue(result.isSuccess());
+        assertEquals(TEST_TOKEN, result.getToken());
+        assertFalse(result.getUser().getIsVerified());
+        verify(jwtUtil, times(1)).generateToken(testUser);
     }
 
     @Test
     @DisplayName("Should handle null password gracefully")
     void testLogin_NullPassword() {
-        when(userService.findByEmail(TEST_EMAIL)).thenReturn(testUser);
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.of(testUser));
 
         assertThrows(
                 Exception.class,
                 () -> authService.login(TEST_EMAIL, null)
         );
 
-        verify(userService, times(1)).findByEmail(TEST_EMAIL);
-        verify(jwtUtil, never()).generateToken(anyString(), anyLong(), anyBoolean());
+        verify(userRepository, times(1)).findByEmailReadOnly(TEST_EMAIL);
+        verify(jwtUtil, never()).generateToken(any(User.class));
     }
 
     @Test
-    @DisplayName("Should handle empty password")
+    @DisplayName("Should return failure for empty password")
     void testLogin_EmptyPassword() {
-        when(userService.findByEmail(TEST_EMAIL)).thenReturn(testUser);
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.of(testUser));
 
-        NotAuthorizedException exception = assertThrows(
-                NotAuthorizedException.class,
-                () -> authService.login(TEST_EMAIL, "")
-        );
+        LoginResult result = authService.login(TEST_EMAIL, "");
 
-        assertNotNull(exception);
-        verify(userService, times(1)).findByEmail(TEST_EMAIL);
-        verify(jwtUtil, never()).generateToken(anyString(), anyLong(), anyBoolean());
+        assertFalse(result.isSuccess());
+        verify(userRepository, times(1)).findByEmailReadOnly(TEST_EMAIL);
+        verify(jwtUtil, never()).generateToken(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should lock the account after repeated failures and answer like an unknown email")
+    void testLogin_LockedAfterRepeatedFailures() {
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByEmailReadOnly("unknown@example.com")).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 5; i++) {
+            assertFalse(authService.login(TEST_EMAIL, "WrongPassword@123").isSuccess());
+        }
+
+        LoginResult result = authService.login(TEST_EMAIL, TEST_PASSWORD);
+
+        assertFalse(result.isSuccess());
+        assertSame(authService.login("unknown@example.com", TEST_PASSWORD), result);
+        verify(jwtUtil, never()).generateToken(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should reset the failure count after a successful login")
+    void testLogin_SuccessResetsFailures() {
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+        when(jwtUtil.generateToken(testUser)).thenReturn(TEST_TOKEN);
+
+        for (int i = 0; i < 4; i++) {
+            authService.login(TEST_EMAIL, "WrongPassword@123");
+        }
+        assertTrue(authService.login(TEST_EMAIL, TEST_PASSWORD).isSuccess());
+
+        authService.login(TEST_EMAIL, "WrongPassword@123");
+
+        assertFalse(loginActivityStore.isLocked(testUser));
+    }
+
+    @Test
+    @DisplayName("Should write coalesced login activity in one batch")
+    void testLogin_ActivityWrittenBehind() {
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+        when(jwtUtil.generateToken(testUser)).thenReturn(TEST_TOKEN);
+
+        authService.login(TEST_EMAIL, "WrongPassword@123");
+        authService.login(TEST_EMAIL, TEST_PASSWORD);
+        authService.login(TEST_EMAIL, TEST_PASSWORD);
+        verify(userRepository, never()).updateLoginActivity(anyList());
+
+        assertEquals(1, loginActivityStore.flush());
+
+        verify(userRepository, times(1)).updateLoginActivity(argThat(activities ->
+                activities.size() == 1
+                        && activities.get(0).getUserId().equals(TEST_USER_ID)
+                        && activities.get(0).getFailedAttempts() == 0
+                        && activities.get(0).getLastLoginAt() != null));
     }
 
     @Test
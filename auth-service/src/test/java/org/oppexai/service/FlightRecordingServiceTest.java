@@ -0,0 +1,91 @@
+package org.oppexai.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FlightRecordingService Test Suite")
+class FlightRecordingServiceTest {
+
+    private FlightRecordingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FlightRecordingService();
+        service.settings = "default";
+        service.maxDuration = Duration.ofMinutes(1);
+        service.maxSizeMb = 8;
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("Should cap the requested duration at the configured maximum")
+    void testStart_CapsDuration() {
+        assertEquals(Duration.ofMinutes(1), service.start(Duration.ofHours(1)));
+        service.close();
+
+        assertEquals(Duration.ofMinutes(1), service.start(null));
+        service.close();
+
+        assertEquals(Duration.ofSeconds(30), service.start(Duration.ofSeconds(30)));
+        assertEquals("RUNNING", service.getState());
+    }
+
+    @Test
+    @DisplayName("Should refuse a second recording while one is running")
+    void testStart_AlreadyRunning() {
+        service.start(Duration.ofSeconds(30));
+
+        assertThrows(IllegalStateException.class, () -> service.start(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    @DisplayName("Should stop once and keep the data available for a dump")
+    void testStopAndDump() throws Exception {
+        service.start(Duration.ofSeconds(30));
+
+        assertTrue(service.stop());
+        assertFalse(service.stop());
+        assertEquals("STOPPED", service.getState());
+
+        Path file = service.dump();
+        try {
+            assertNotNull(file);
+            assertTrue(Files.size(file) > 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should allow a new recording after the previous one stopped")
+    void testStart_AfterStop() {
+        service.start(Duration.ofSeconds(30));
+        service.stop();
+
+        assertEquals(Duration.ofSeconds(10), service.start(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    @DisplayName("Should discard the recording on close")
+    void testClose() {
+        service.start(Duration.ofSeconds(30));
+
+        service.close();
+
+        assertEquals("NONE", service.getState());
+        assertNull(service.dump());
+        assertFalse(service.stop());
+    }
+}
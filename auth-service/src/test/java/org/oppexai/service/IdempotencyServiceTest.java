@@ -0,0 +1,34 @@
+package org.oppexai.service;
+
+import jakarta.persistence.PersistenceException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdempotencyService Test Suite")
+class IdempotencyServiceTest {
+
+    @Test
+    @DisplayName("Should treat a duplicate key on the claim insert as claimed elsewhere")
+    void testIsUniqueViolation_DuplicateKey() {
+        SQLException duplicate = new SQLException("duplicate key value", "23505");
+
+        assertTrue(IdempotencyService.isUniqueViolation(
+                new ConstraintViolationException("insert failed", duplicate, "idempotency_records_pkey")));
+        assertTrue(IdempotencyService.isUniqueViolation(new PersistenceException(duplicate)));
+    }
+
+    @Test
+    @DisplayName("Should not treat other database failures as claimed elsewhere")
+    void testIsUniqueViolation_OtherFailures() {
+        assertFalse(IdempotencyService.isUniqueViolation(
+                new PersistenceException(new SQLException("connection lost", "08006"))));
+        assertFalse(IdempotencyService.isUniqueViolation(
+                new ConstraintViolationException("not null", new SQLException("null value", "23502"), "status")));
+        assertFalse(IdempotencyService.isUniqueViolation(new IllegalStateException("timeout")));
+    }
+}
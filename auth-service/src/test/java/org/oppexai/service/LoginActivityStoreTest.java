@@ -0,0 +1,129 @@
+package org.oppexai.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.oppexai.model.User;
+import org.oppexai.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LoginActivityStore Test Suite")
+class LoginActivityStoreTest {
+
+    private UserRepository userRepository;
+    private LoginActivityStore store;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        store = new LoginActivityStore();
+        store.userRepository = userRepository;
+        store.registry = new SimpleMeterRegistry();
+        store.maxFailedAttempts = 3;
+        store.lockoutDuration = Duration.ofMinutes(15);
+        store.lastLoginResolution = Duration.ofMinutes(1);
+        store.batchSize = 500;
+        store.maxTrackedUsers = 1000;
+        store.idleExpiry = Duration.ofMinutes(30);
+        store.init();
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated logins of one user into a single pending write")
+    void testFlush_CoalescesRepeatedLogins() {
+        User user = user(1L);
+
+        store.recordFailure(user);
+        store.recordFailure(user);
+        store.recordSuccess(user);
+
+        assertEquals(1, store.flush());
+        List<LoginActivity> written = flushed();
+        assertEquals(1, written.size());
+        assertEquals(0, written.get(0).getFailedAttempts());
+        assertNotNull(written.get(0).getLastLoginAt());
+        assertEquals(0, store.flush());
+    }
+
+    @Test
+    @DisplayName("Should not queue a clean login within the last-login resolution")
+    void testRecordSuccess_WithinResolutionSkipped() {
+        User user = user(2L);
+        user.setLastLoginAt(Instant.now().minusSeconds(10));
+
+        store.recordSuccess(user);
+
+        assertEquals(0, store.flush());
+        verify(userRepository, never()).updateLoginActivity(anyList());
+    }
+
+    @Test
+    @DisplayName("Should requeue the users of a failed batch and write them on the next flush")
+    void testFlush_FailedBatchRequeued() {
+        User user = user(3L);
+        doThrow(new RuntimeException("db down")).doNothing().when(userRepository).updateLoginActivity(anyList());
+
+        store.recordFailure(user);
+
+        assertEquals(0, store.flush());
+        assertEquals(1, store.flush());
+        verify(userRepository, times(2)).updateLoginActivity(anyList());
+    }
+
+    @Test
+    @DisplayName("Should lock after max failed attempts and start a fresh allowance once the lock expired")
+    void testRecordFailure_LockExpiryResets() {
+        User locking = user(4L);
+        assertFalse(store.recordFailure(locking));
+        assertFalse(store.recordFailure(locking));
+        assertTrue(store.recordFailure(locking));
+        assertTrue(store.isLocked(locking));
+
+        User expired = user(5L);
+        expired.setFailedLoginAttempts(2);
+        expired.setLockedUntil(Instant.now().minusSeconds(1));
+
+        assertFalse(store.isLocked(expired));
+        assertFalse(store.recordFailure(expired));
+        store.flush();
+
+        LoginActivity activity = flushed().stream()
+                .filter(written -> written.getUserId().equals(5L))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, activity.getFailedAttempts());
+        assertNull(activity.getLockedUntil());
+    }
+
+    @Test
+    @DisplayName("Should write pending activity back on shutdown")
+    void testOnStop_FlushesPending() {
+        store.recordFailure(user(6L));
+
+        store.onStop(null);
+
+        assertEquals(List.of(6L), flushed().stream().map(LoginActivity::getUserId).toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LoginActivity> flushed() {
+        ArgumentCaptor<List<LoginActivity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, atLeastOnce()).updateLoginActivity(captor.capture());
+        return captor.getValue();
+    }
+
+    private static User user(long id) {
+        User user = new User(id + "@example.com", "unused");
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,49 @@
+package org.oppexai.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oppexai.util.MicroBenchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoginResult Benchmark")
+class LoginResultBenchmark {
+
+    private static final int ITERATIONS = 100_000;
+
+    // Roughly the depth of a login call under the HTTP and REST layers
+    private static final int STACK_DEPTH = 64;
+
+    @Test
+    @DisplayName("Failed login returned as a value vs thrown and caught as an exception")
+    void benchmarkFailedLogin() {
+        assertSame(LoginResult.failure(), returnFailure(STACK_DEPTH));
+
+        double thrown = MicroBenchmark.run("failure thrown (stack depth " + STACK_DEPTH + ")", ITERATIONS,
+                () -> catchFailure(STACK_DEPTH));
+        double returned = MicroBenchmark.run("failure returned (stack depth " + STACK_DEPTH + ")", ITERATIONS,
+                () -> returnFailure(STACK_DEPTH));
+
+        assertTrue(thrown > 0 && returned > 0);
+    }
+
+    private static LoginResult returnFailure(int depth) {
+        return depth == 0 ? LoginResult.failure() : returnFailure(depth - 1);
+    }
+
+    // Plain stack-trace capture; a JAX-RS NotAuthorizedException also builds a Response on top of this
+    private static Object catchFailure(int depth) {
+        try {
+            return throwFailure(depth);
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    private static LoginResult throwFailure(int depth) {
+        if (depth == 0) {
+            throw new IllegalStateException("Invalid email or password");
+        }
+        return throwFailure(depth - 1);
+    }
+}
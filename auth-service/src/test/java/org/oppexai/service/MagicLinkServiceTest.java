@@ -0,0 +1,155 @@
+package org.oppexai.service;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.InjectMock;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.oppexai.model.User;
+import org.oppexai.repository.UserRepository;
+import org.oppexai.util.JwtUtil;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+@DisplayName("MagicLinkService Test Suite")
+class MagicLinkServiceTest {
+
+    @Inject
+    MagicLinkService magicLinkService;
+
+    @InjectMock
+    UserRepository userRepository;
+
+    @InjectMock
+    EmailService emailService;
+
+    @InjectMock
+    JwtUtil jwtUtil;
+
+    @Inject
+    ResendThrottle resendThrottle;
+
+    @Inject
+    LoginActivityStore loginActivityStore;
+
+    private User testUser;
+    private static final String TEST_EMAIL = "test@example.com";
+    private static final String TEST_TOKEN = "test-jwt-token";
+
+    @BeforeEach
+    void setUp() {
+        Mockito.reset(userRepository, emailService, jwtUtil);
+        resendThrottle.clear();
+        loginActivityStore.clear();
+
+        testUser = new User(TEST_EMAIL, "$2a$10$unused");
+        testUser.setId(1L);
+        testUser.setIsVerified(true);
+    }
+
+    @Test
+    @DisplayName("Should store only the digest of the emailed token")
+    void testRequestLink_StoresDigest() {
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+
+        Instant before = Instant.now();
+        magicLinkService.requestLink(TEST_EMAIL);
+
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(emailService).sendMagicLinkEmail(eq(TEST_EMAIL), token.capture(), any(Duration.class), any());
+
+        ArgumentCaptor<String> digest = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Instant> expiresAt = ArgumentCaptor.forClass(Instant.class);
+        verify(userRepository).storeMagicLink(eq(testUser), digest.capture(), expiresAt.capture());
+
+        assertNotEquals(token.getValue(), digest.getValue());
+        assertEquals(MagicLinkService.digest(token.getValue()), digest.getValue());
+        assertTrue(expiresAt.getValue().isAfter(before));
+    }
+
+    @Test
+    @DisplayName("Should send nothing for an unknown email")
+    void testRequestLink_UnknownEmail() {
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.empty());
+
+        magicLinkService.requestLink(TEST_EMAIL);
+
+        verify(userRepository, never()).storeMagicLink(any(), anyString(), any());
+        verify(emailService, never()).sendMagicLinkEmail(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should send one link per window for repeated requests")
+    void testRequestLink_Throttled() {
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+
+        magicLinkService.requestLink(TEST_EMAIL);
+        magicLinkService.requestLink(TEST_EMAIL);
+
+        verify(emailService, times(1)).sendMagicLinkEmail(eq(TEST_EMAIL), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should allow another link at once when delivery fails")
+    void testRequestLink_DeliveryFailedReleasesWindow() {
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(3).run();
+            return null;
+        }).when(emailService).sendMagicLinkEmail(anyString(), anyString(), any(), any());
+
+        magicLinkService.requestLink(TEST_EMAIL);
+        magicLinkService.requestLink(TEST_EMAIL);
+
+        verify(emailService, times(2)).sendMagicLinkEmail(eq(TEST_EMAIL), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should allow another link at once when storing the link fails")
+    void testRequestLink_StoreFailedReleasesWindow() {
+        when(userRepository.findByEmailReadOnly(TEST_EMAIL)).thenReturn(Optional.of(testUser));
+        doThrow(new RuntimeException("db down")).doNothing()
+                .when(userRepository).storeMagicLink(any(), anyString(), any());
+
+        assertThrows(RuntimeException.class, () -> magicLinkService.requestLink(TEST_EMAIL));
+        magicLinkService.requestLink(TEST_EMAIL);
+
+        verify(emailService, times(1)).sendMagicLinkEmail(eq(TEST_EMAIL), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should exchange a valid link for a token without a password check")
+    void testRedeem_Success() {
+        String link = "link-token";
+        when(userRepository.consumeMagicLink(MagicLinkService.digest(link), link)).thenReturn(Optional.of(testUser));
+        when(jwtUtil.generateToken(testUser)).thenReturn(TEST_TOKEN);
+
+        LoginResult result = magicLinkService.redeem(link);
+
+        assertTrue(result.isSuccess());
+        assertEquals(TEST_TOKEN, result.getToken());
+        assertSame(testUser, result.getUser());
+        verify(userRepository, never()).findByEmailReadOnly(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a used, expired or unknown link")
+    void testRedeem_Invalid() {
+        when(userRepository.consumeMagicLink(anyString(), anyString())).thenReturn(Optional.empty());
+
+        LoginResult result = magicLinkService.redeem("link-token");
+
+        assertFalse(result.isSuccess());
+        verify(jwtUtil, never()).generateToken(any(User.class));
+    }
+}
@@ -0,0 +1,74 @@
+package org.oppexai.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordHashExecutor Test Suite")
+class PasswordHashExecutorTest {
+
+    private PasswordHashExecutor executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        executor = new PasswordHashExecutor();
+        executor.threads = Optional.of(1);
+        executor.queueSize = 1;
+        executor.timeout = Duration.ofMillis(50);
+        executor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.onStop(null);
+    }
+
+    @Test
+    @DisplayName("Should refuse work once the thread and queue are full")
+    void testSubmit_RejectsWhenFull() {
+        executor.supplyAsync(this::blocked);
+        executor.supplyAsync(this::blocked);
+
+        assertEquals(1, executor.getQueued());
+        assertThrows(RejectedExecutionException.class, () -> executor.hashAsync("Test@1234"));
+    }
+
+    @Test
+    @DisplayName("Should give up on a hash that does not finish within the timeout")
+    void testAwait_TimesOut() {
+        CompletableFuture<String> running = executor.supplyAsync(this::blocked);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.await(running));
+        assertTrue(running.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Should return the BCrypt hash when the pool has capacity")
+    void testHash_Success() {
+        executor.timeout = Duration.ofSeconds(10);
+
+        String hash = executor.await(executor.hashAsync("Test@1234"));
+
+        assertTrue(hash.startsWith("$2"));
+    }
+
+    private String blocked() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+}
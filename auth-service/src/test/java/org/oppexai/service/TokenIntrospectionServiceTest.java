@@ -0,0 +1,73 @@
+package org.oppexai.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oppexai.model.User;
+import org.oppexai.repository.UserRepository;
+import org.oppexai.util.JwtUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@DisplayName("TokenIntrospectionService Test Suite")
+class TokenIntrospectionServiceTest {
+
+    @Inject
+    TokenIntrospectionService introspectionService;
+
+    @Inject
+    UserStateBus userStateBus;
+
+    @Inject
+    JwtUtil jwtUtil;
+
+    @Inject
+    UserRepository userRepository;
+
+    private String tokenFor(long id, String email, long version) {
+        User user = new User(email, "unused");
+        user.setId(id);
+        user.setIsVerified(true);
+        user.setTokenVersion(version);
+        return jwtUtil.generateToken(user);
+    }
+
+    @Test
+    @DisplayName("Should report a cached token inactive once the user's token_version moves past it")
+    void testIntrospect_SupersededAfterCaching() {
+        String email = "revoked@example.com";
+        String token = tokenFor(41L, email, 0L);
+        assertTrue(introspectionService.introspect(token).isActive());
+
+        userStateBus.onNotification("41:1");
+
+        assertFalse(introspectionService.introspect(token).isActive());
+        assertTrue(introspectionService.introspect(tokenFor(41L, email, 1L)).isActive());
+    }
+
+    @Test
+    @DisplayName("Should know token_version changes made before the node started listening")
+    void testIntrospect_SupersededFromStartupSeed() {
+        String email = "seeded@example.com";
+        User user = new User(email, "unused");
+        user.setIsVerified(true);
+        QuarkusTransaction.requiringNew().run(() -> userRepository.persist(user));
+        QuarkusTransaction.requiringNew().run(() ->
+                userRepository.findByIdOptional(user.getId()).orElseThrow().setTokenVersion(3L));
+
+        userStateBus.seedVersions();
+
+        assertFalse(introspectionService.introspect(tokenFor(user.getId(), email, 2L)).isActive());
+        assertTrue(introspectionService.introspect(tokenFor(user.getId(), email, 3L)).isActive());
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that fail verification")
+    void testIntrospect_InvalidTokenInactive() {
+        assertFalse(introspectionService.introspect("not-a-token").isActive());
+        assertFalse(introspectionService.introspect("").isActive());
+    }
+}
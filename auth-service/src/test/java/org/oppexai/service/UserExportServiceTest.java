@@ -0,0 +1,58 @@
+package org.oppexai.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oppexai.model.User;
+import org.oppexai.repository.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@DisplayName("UserExportService Test Suite")
+class UserExportServiceTest {
+
+    @Inject
+    UserExportService userExportService;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should export every matching row across chunks without a transaction open while writing")
+    void testExportUsers_WritesOutsideTransaction() throws Exception {
+        Instant from = Instant.now();
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int i = 1; i <= 5; i++) {
+                User user = new User("export-" + i + "@example.com", "unused");
+                user.setIsVerified(i != 3);
+                userRepository.persist(user);
+            }
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] b, int off, int len) {
+                assertFalse(QuarkusTransaction.isActive(), "export wrote to the client inside a transaction");
+                super.write(b, off, len);
+            }
+        };
+        userExportService.exportUsers(true, from, null, out);
+
+        List<String> lines = Arrays.stream(out.toString(StandardCharsets.UTF_8).split("\n"))
+                .filter(line -> line.contains("export-"))
+                .toList();
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).contains("export-1@example.com"));
+        assertTrue(lines.get(3).contains("export-5@example.com"));
+        assertTrue(lines.stream().noneMatch(line -> line.contains("export-3@example.com")));
+    }
+}
@@ -0,0 +1,155 @@
+package org.oppexai.service;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.oppexai.dto.request.UserImportRow;
+import org.oppexai.dto.response.ImportResponse;
+import org.oppexai.model.User;
+import org.oppexai.repository.ShardRouter;
+import org.oppexai.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@QuarkusTest
+@DisplayName("UserImportService Test Suite")
+class UserImportServiceTest {
+
+    private static final String HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Inject
+    UserImportService userImportService;
+
+    @Inject
+    UserRepository userRepository;
+
+    // Mocked only to switch sharding on; disabled by default as in the test profile
+    @InjectMock
+    ShardRouter shardRouter;
+
+    @Test
+    @DisplayName("Should parse email, hash and verified flag")
+    void testParseCsv_AllColumns() {
+        UserImportRow row = UserImportService.parseCsv(" test@example.com ," + HASH + ",true");
+
+        assertEquals("test@example.com", row.getEmail());
+        assertEquals(HASH, row.getPasswordHash());
+        assertTrue(row.getIsVerified());
+    }
+
+    @Test
+    @DisplayName("Should default verified flag to false when column is missing")
+    void testParseCsv_NoVerifiedColumn() {
+        UserImportRow row = UserImportService.parseCsv("test@example.com," + HASH);
+
+        assertFalse(row.getIsVerified());
+    }
+
+    @Test
+    @DisplayName("Should reject rows with fewer than two columns")
+    void testParseCsv_TooFewColumns() {
+        assertThrows(IllegalArgumentException.class, () -> UserImportService.parseCsv("test@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON rows across several batches")
+    void testImportUsers_Ndjson() throws Exception {
+        ImportResponse result = userImportService.importUsers(body(
+                ndjson("ndjson-1@example.com", true),
+                ndjson("ndjson-2@example.com", false),
+                "",
+                ndjson("ndjson-3@example.com", false)
+        ), UserImportService.Format.NDJSON);
+
+        assertEquals(3, result.getProcessed());
+        assertEquals(3, result.getImported());
+        assertTrue(result.getErrors().isEmpty());
+        assertTrue(find("ndjson-1@example.com").orElseThrow().getIsVerified());
+        assertFalse(find("ndjson-3@example.com").orElseThrow().getIsVerified());
+    }
+
+    @Test
+    @DisplayName("Should skip existing and repeated emails as conflicts")
+    void testImportUsers_Conflicts() throws Exception {
+        userImportService.importUsers(body("conflict-1@example.com," + HASH), UserImportService.Format.CSV);
+
+        ImportResponse result = userImportService.importUsers(body(
+                "email,password_hash,is_verified",
+                "conflict-1@example.com," + HASH,
+                "conflict-2@example.com," + HASH,
+                "conflict-2@example.com," + HASH + ",true"
+        ), UserImportService.Format.CSV);
+
+        assertEquals(3, result.getProcessed());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getConflicts());
+        assertEquals("line 2: email already registered", result.getErrors().get(0));
+        assertFalse(find("conflict-2@example.com").orElseThrow().getIsVerified());
+    }
+
+    @Test
+    @DisplayName("Should count every rejected row but report at most 100 errors")
+    void testImportUsers_ErrorCap() throws Exception {
+        String[] lines = new String[150];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = "{not json";
+        }
+
+        ImportResponse result = userImportService.importUsers(body(lines), UserImportService.Format.NDJSON);
+
+        assertEquals(150, result.getRejected());
+        assertEquals(100, result.getErrors().size());
+        assertEquals("line 1: malformed row", result.getErrors().get(0));
+    }
+
+    @Test
+    @DisplayName("Should keep committed batches when the upload fails midway")
+    void testImportUsers_BatchesCommitted() {
+        InputStream failing = new SequenceInputStream(
+                body("batch-1@example.com," + HASH, "batch-2@example.com," + HASH, "batch-3@example.com," + HASH),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection reset");
+                    }
+                });
+
+        assertThrows(IOException.class, () -> userImportService.importUsers(failing, UserImportService.Format.CSV));
+
+        assertTrue(find("batch-1@example.com").isPresent());
+        assertTrue(find("batch-2@example.com").isPresent());
+        assertTrue(find("batch-3@example.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refuse to import while sharding is enabled")
+    void testImportUsers_ShardingEnabled() {
+        when(shardRouter.isEnabled()).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> userImportService.importUsers(
+                body("sharded@example.com," + HASH), UserImportService.Format.CSV));
+    }
+
+    private Optional<User> find(String email) {
+        return QuarkusTransaction.requiringNew().call(() -> userRepository.findByEmail(email));
+    }
+
+    private static String ndjson(String email, boolean verified) {
+        return "{\"email\":\"" + email + "\",\"passwordHash\":\"" + HASH + "\",\"isVerified\":" + verified + "}";
+    }
+
+    private static InputStream body(String... lines) {
+        return new ByteArrayInputStream((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,7 +3,6 @@ package org.oppexai.service;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.InjectMock;
 import jakarta.inject.Inject;
-import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +31,9 @@ class UserServiceTest {
     @InjectMock
     EmailService emailService;
 
+    @Inject
+    ResendThrottle resendThrottle;
+
     private User testUser;
     private static final String TEST_EMAIL = "test@example.com";
     private static final String TEST_PASSWORD = "Test@1234";
@@ -41,6 +43,7 @@ class UserServiceTest {
     void setUp() {
         // Reset mocks before each test
         Mockito.reset(userRepository, emailService);
+        resendThrottle.clear();
 
         // Create test user
         testUser = new User(TEST_EMAIL, PasswordUtil.hashPassword(TEST_PASSWORD));
@@ -58,32 +61,65 @@ class UserServiceTest {
         doNothing().when(emailService).sendVerificationEmail(anyString(), anyString());
 
         // Act
-        assertDoesNotThrow(() -> userService.signup(TEST_EMAIL, TEST_PASSWORD));
+        SignupResult result = userService.signup(TEST_EMAIL, TEST_PASSWORD);
 
         // Assert
+        assertEquals(SignupResult.CREATED, result);
         verify(userRepository, times(1)).existsByEmail(TEST_EMAIL);
         verify(userRepository, times(1)).persist(any(User.class));
         verify(emailService, times(1)).sendVerificationEmail(eq(TEST_EMAIL), anyString());
     }
 
     @Test
-    @DisplayName("Should throw BadRequestException when email already exists")
+    @DisplayName("Should reject disposable email domains before any database work")
+    void testSignup_DisposableDomain() {
+        SignupResult result = userService.signup("bot@mailinator.com", TEST_PASSWORD);
+
+        assertEquals(SignupResult.DOMAIN_BLOCKED, result);
+        verifyNoInteractions(userRepository, emailService);
+    }
+
+    @Test
+    @DisplayName("Should report duplicate when email already exists")
     void testSignup_EmailAlreadyExists() {
         // Arrange
         when(userRepository.existsByEmail(TEST_EMAIL)).thenReturn(true);
 
-        // Act & Assert
-        BadRequestException exception = assertThrows(
-                BadRequestException.class,
-                () -> userService.signup(TEST_EMAIL, TEST_PASSWORD)
-        );
+        // Act
+        SignupResult result = userService.signup(TEST_EMAIL, TEST_PASSWORD);
 
-        assertEquals("Email already registered", exception.getMessage());
+        // Assert
+        assertEquals(SignupResult.EMAIL_ALREADY_REGISTERED, result);
         verify(userRepository, times(1)).existsByEmail(TEST_EMAIL);
         verify(userRepository, never()).persist(any(User.class));
         verify(emailService, never()).sendVerificationEmail(anyString(), anyString());
     }
 
+    @Test
+    @DisplayName("Should report duplicate when a concurrent signup wins the insert")
+    void testSignup_ConcurrentDuplicate() {
+        when(userRepository.existsByEmail(TEST_EMAIL)).thenReturn(false, true);
+        doThrow(new RuntimeException("duplicate key value violates unique constraint"))
+                .when(userRepository).persist(any(User.class));
+
+        SignupResult result = userService.signup(TEST_EMAIL, TEST_PASSWORD);
+
+        assertEquals(SignupResult.EMAIL_ALREADY_REGISTERED, result);
+        verify(userRepository, times(2)).existsByEmail(TEST_EMAIL);
+        verify(emailService, never()).sendVerificationEmail(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should store a BCrypt hash of the password")
+    void testSignup_StoresPasswordHash() {
+        when(userRepository.existsByEmail(TEST_EMAIL)).thenReturn(false);
+
+        userService.signup(TEST_EMAIL, TEST_PASSWORD);
+
+        verify(userRepository).persist(argThat((User user) ->
+                PasswordUtil.verifyPassword(TEST_PASSWORD, user.getPasswordHash())));
+    }
+
     @Test
     @DisplayName("Should continue signup even if email sending fails")
     void testSignup_EmailSendingFails() {
@@ -266,42 +302,105 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("Should successfully resend verification email")
+    @DisplayName("Should resend verification email reusing the outstanding token")
     void testResendVerificationEmail_Success() {
         // Arrange
+        when(userRepository.findByEmail(TEST_EMAIL))
+                .thenReturn(Optional.of(testUser));
+        doNothing().when(emailService).sendVerificationEmail(anyString(), anyString(), any());
+
+        // Act
+        assertDoesNotThrow(() -> userService.resendVerificationEmail(TEST_EMAIL));
+
+        // Assert
+        assertEquals(TEST_TOKEN, testUser.getVerificationToken());
+        verify(userRepository, times(1)).findByEmail(TEST_EMAIL);
+        verify(userRepository, never()).persist(any(User.class));
+        verify(emailService, times(1)).sendVerificationEmail(eq(TEST_EMAIL), eq(TEST_TOKEN), any());
+    }
+
+    @Test
+    @DisplayName("Should generate and persist a token when none is outstanding")
+    void testResendVerificationEmail_NoToken() {
+        // Arrange
+        testUser.setVerificationToken(null);
         when(userRepository.findByEmail(TEST_EMAIL))
                 .thenReturn(Optional.of(testUser));
         doNothing().when(userRepository).persist(any(User.class));
-        doNothing().when(emailService).sendVerificationEmail(anyString(), anyString());
 
         // Act
         assertDoesNotThrow(() -> userService.resendVerificationEmail(TEST_EMAIL));
 
         // Assert
         assertNotNull(testUser.getVerificationToken());
-        verify(userRepository, times(1)).findByEmail(TEST_EMAIL);
         verify(userRepository, times(1)).persist(testUser);
-        verify(emailService, times(1)).sendVerificationEmail(eq(TEST_EMAIL), anyString());
+        verify(emailService, times(1)).sendVerificationEmail(eq(TEST_EMAIL), eq(testUser.getVerificationToken()), any());
     }
 
     @Test
-    @DisplayName("Should throw BadRequestException when resending to verified user")
+    @DisplayName("Should send only one email for repeated resends within the window")
+    void testResendVerificationEmail_Coalesced() {
+        // Arrange
+        when(userRepository.findByEmail(TEST_EMAIL))
+                .thenReturn(Optional.of(testUser));
+
+        // Act
+        userService.resendVerificationEmail(TEST_EMAIL);
+        userService.resendVerificationEmail(TEST_EMAIL);
+        userService.resendVerificationEmail(TEST_EMAIL);
+
+        // Assert
+        verify(emailService, times(1)).sendVerificationEmail(eq(TEST_EMAIL), eq(TEST_TOKEN), any());
+        verify(userRepository, never()).persist(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should allow another resend at once when delivery fails")
+    void testResendVerificationEmail_DeliveryFailedReleasesWindow() {
+        // Arrange
+        when(userRepository.findByEmail(TEST_EMAIL))
+                .thenReturn(Optional.of(testUser));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return null;
+        }).when(emailService).sendVerificationEmail(anyString(), anyString(), any());
+
+        // Act
+        userService.resendVerificationEmail(TEST_EMAIL);
+        userService.resendVerificationEmail(TEST_EMAIL);
+
+        // Assert
+        verify(emailService, times(2)).sendVerificationEmail(eq(TEST_EMAIL), eq(TEST_TOKEN), any());
+    }
+
+    @Test
+    @DisplayName("Should silently skip resending to a verified user")
     void testResendVerificationEmail_AlreadyVerified() {
         // Arrange
         testUser.setIsVerified(true);
         when(userRepository.findByEmail(TEST_EMAIL))
                 .thenReturn(Optional.of(testUser));
 
-        // Act & Assert
-        BadRequestException exception = assertThrows(
-                BadRequestException.class,
-                () -> userService.resendVerificationEmail(TEST_EMAIL)
-        );
+        // Act
+        assertDoesNotThrow(() -> userService.resendVerificationEmail(TEST_EMAIL));
 
-        assertEquals("Email already verified", exception.getMessage());
+        // Assert
         verify(userRepository, times(1)).findByEmail(TEST_EMAIL);
         verify(userRepository, never()).persist(any(User.class));
-        verify(emailService, never()).sendVerificationEmail(anyString(), anyString());
+        verify(emailService, never()).sendVerificationEmail(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should silently skip resending to an unknown email")
+    void testResendVerificationEmail_UnknownEmail() {
+        // Arrange
+        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.empty());
+
+        // Act
+        assertDoesNotThrow(() -> userService.resendVerificationEmail(TEST_EMAIL));
+
+        // Assert
+        verify(emailService, never()).sendVerificationEmail(anyString(), anyString(), any());
     }
 
 }
\ No newline at end of file
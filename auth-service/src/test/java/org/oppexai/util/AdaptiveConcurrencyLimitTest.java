@@ -0,0 +1,77 @@
+package org.oppexai.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimit Test Suite")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = 10_000_000L;  // 10 ms
+    private static final long SLOW = 200_000_000L; // 200 ms
+
+    @Test
+    @DisplayName("Should reject requests over the current limit")
+    void testTryAcquire_RejectsOverLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        assertEquals(2, limit.getInFlight());
+        assertEquals(1, limit.getRejected());
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while latency stays flat under full load")
+    void testRelease_GrowsWithStableLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 100);
+
+        for (int i = 0; i < 200; i++) {
+            saturateAndRelease(limit, FAST);
+        }
+
+        assertTrue(limit.getLimit() > 4, "Limit should grow, was " + limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises")
+    void testRelease_ShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100);
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limit, FAST);
+        }
+        int before = limit.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limit, SLOW);
+        }
+
+        assertTrue(limit.getLimit() < before, "Limit should shrink from " + before + ", was " + limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should never go below the minimum limit")
+    void testRelease_RespectsMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 3, 100);
+        saturateAndRelease(limit, FAST);
+
+        for (int i = 0; i < 500; i++) {
+            saturateAndRelease(limit, SLOW * 10);
+        }
+
+        assertTrue(limit.getLimit() >= 3);
+    }
+
+    private static void saturateAndRelease(AdaptiveConcurrencyLimit limit, long rtt) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(rtt);
+        }
+    }
+}
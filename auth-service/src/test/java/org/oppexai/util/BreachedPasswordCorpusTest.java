@@ -0,0 +1,86 @@
+package org.oppexai.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BreachedPasswordCorpus Test Suite")
+class BreachedPasswordCorpusTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should find converted passwords and nothing else")
+    void testContainsPassword() throws IOException {
+        Path file = convert(1, "password:100", "123456:50", "Passw0rd!:3");
+
+        try (BreachedPasswordCorpus corpus = BreachedPasswordCorpus.open(file)) {
+            assertEquals(3, corpus.size());
+            assertTrue(corpus.containsPassword("password"));
+            assertTrue(corpus.containsPassword("123456"));
+            assertTrue(corpus.containsPassword("Passw0rd!"));
+            assertFalse(corpus.containsPassword("Password"));
+            assertFalse(corpus.containsPassword("correct horse battery staple 42!"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop hashes seen fewer than minCount times")
+    void testConvert_MinCount() throws IOException {
+        Path file = convert(10, "password:100", "qwerty:2");
+
+        try (BreachedPasswordCorpus corpus = BreachedPasswordCorpus.open(file)) {
+            assertEquals(1, corpus.size());
+            assertTrue(corpus.containsPassword("password"));
+            assertFalse(corpus.containsPassword("qwerty"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject unsorted input")
+    void testConvert_Unsorted() {
+        String unsorted = "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF:1\n0000000000000000000000000000000000000000:1\n";
+
+        assertThrows(IllegalArgumentException.class, () -> BreachedPasswordCorpusConverter.convert(
+                new BufferedReader(new StringReader(unsorted)), dir.resolve("corpus.bin"), 1));
+        assertFalse(Files.exists(dir.resolve("corpus.bin")));
+    }
+
+    @Test
+    @DisplayName("Should refuse to open a file that is not a corpus")
+    void testOpen_NotACorpus() throws IOException {
+        Path file = Files.writeString(dir.resolve("garbage.bin"), "not a corpus");
+
+        assertThrows(IOException.class, () -> BreachedPasswordCorpus.open(file));
+    }
+
+    /**
+     * @param entries "password:count", turned into the sorted "SHA1:count" text format
+     */
+    private Path convert(long minCount, String... entries) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String entry : entries) {
+            int colon = entry.lastIndexOf(':');
+            byte[] hash = BreachedPasswordCorpus.sha1(entry.substring(0, colon));
+            lines.add(HexFormat.of().withUpperCase().formatHex(hash) + entry.substring(colon));
+        }
+        lines.sort(null);
+
+        Path file = dir.resolve("corpus.bin");
+        BreachedPasswordCorpusConverter.convert(new BufferedReader(new StringReader(String.join("\n", lines))),
+                file, minCount);
+        return file;
+    }
+}
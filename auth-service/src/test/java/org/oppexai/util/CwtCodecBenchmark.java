@@ -0,0 +1,120 @@
+package org.oppexai.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CWT against a JDK-only HS256 JWT carrying the same claims (Jackson JSON, HMAC-SHA256,
+ * base64url). That JWT is the least work any HS256 library has to do, so it is a floor
+ * for the smallrye-jwt figures in {@link JwtBenchmark}.
+ */
+@DisplayName("CwtCodec Benchmark")
+class CwtCodecBenchmark {
+
+    private static final int ITERATIONS = 100_000;
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final String ISSUER = "oppex-ai";
+    private static final String JWT_HEADER = base64(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final CwtCodec codec = new CwtCodec(KEY, ISSUER);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Encode and decode+verify, CWT vs minimal HS256 JWT")
+    void benchmarkTokenFormats() throws Exception {
+        String cwt = codec.encode(cwtClaims());
+        String jwt = jwtEncode();
+        assertEquals("jane.doe@example.com", codec.decode(cwt).getSubject());
+        assertEquals("jane.doe@example.com", jwtVerify(jwt).get("upn").asText());
+        System.out.printf("[benchmark] token length: CWT %d chars, JWT %d chars%n", cwt.length(), jwt.length());
+
+        MicroBenchmark.run("CWT encode", ITERATIONS, () -> codec.encode(cwtClaims()));
+        MicroBenchmark.run("CWT decode + verify", ITERATIONS, () -> {
+            try {
+                return codec.decode(cwt);
+            } catch (CwtCodec.InvalidTokenException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        MicroBenchmark.run("JWT HS256 encode (JDK + Jackson)", ITERATIONS, this::jwtEncode);
+        MicroBenchmark.run("JWT HS256 decode + verify (JDK + Jackson)", ITERATIONS, () -> jwtVerify(jwt));
+    }
+
+    private static CwtCodec.Claims cwtClaims() {
+        long now = Instant.now().getEpochSecond();
+        return new CwtCodec.Claims("jane.doe@example.com", 123456L, true, 3L, Set.of("user"), now, now + 3600);
+    }
+
+    private String jwtEncode() {
+        long now = Instant.now().getEpochSecond();
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", ISSUER);
+        claims.put("upn", "jane.doe@example.com");
+        claims.put("userId", 123456L);
+        claims.put("email", "jane.doe@example.com");
+        claims.put("isVerified", true);
+        claims.put("ver", 3L);
+        claims.put("groups", List.of("user"));
+        claims.put("iat", now);
+        claims.put("exp", now + 3600);
+        claims.put("jti", "3f2b8a8e-6b1d-4c55-9f0a-2d7c9a0e4b11");
+        try {
+            String signingInput = JWT_HEADER + "." + base64(objectMapper.writeValueAsBytes(claims));
+            return signingInput + "." + base64(hmac(signingInput));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode jwtVerify(String token) {
+        int lastDot = token.lastIndexOf('.');
+        String signingInput = token.substring(0, lastDot);
+        byte[] signature = Base64.getUrlDecoder().decode(token.substring(lastDot + 1));
+        if (!MessageDigest.isEqual(signature, hmac(signingInput))) {
+            throw new IllegalStateException("Bad signature");
+        }
+        try {
+            JsonNode claims = objectMapper.readTree(
+                    Base64.getUrlDecoder().decode(signingInput.substring(signingInput.indexOf('.') + 1)));
+            if (claims.get("exp").asLong() < Instant.now().getEpochSecond()) {
+                throw new IllegalStateException("Expired");
+            }
+            return claims;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] hmac(String signingInput) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(KEY, "HmacSHA256"));
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String base64(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,90 @@
+package org.oppexai.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CwtCodec Test Suite")
+class CwtCodecTest {
+
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final String ISSUER = "oppex-ai";
+
+    private final CwtCodec codec = new CwtCodec(KEY, ISSUER);
+
+    @Test
+    @DisplayName("Should round-trip all claims")
+    void testEncodeDecode_RoundTrip() throws Exception {
+        CwtCodec.Claims claims = codec.decode(codec.encode(claims(3600)));
+
+        assertEquals("jane.doe@example.com", claims.getSubject());
+        assertEquals(123456L, claims.getUserId());
+        assertTrue(claims.getIsVerified());
+        assertEquals(3L, claims.getVersion());
+        assertEquals(Set.of("user"), claims.getGroups());
+    }
+
+    @Test
+    @DisplayName("Should produce a dot-free token well under the size of the equivalent JWT")
+    void testEncode_Compact() {
+        String token = codec.encode(claims(3600));
+
+        assertTrue(CwtCodec.isCompact(token));
+        assertFalse(CwtCodec.isCompact("header.payload.signature"));
+        assertTrue(token.length() < 200, "Token was " + token.length() + " chars");
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered token")
+    void testDecode_Tampered() {
+        byte[] raw = Base64.getUrlDecoder().decode(codec.encode(claims(3600)));
+        raw[raw.length - 40] ^= 0x01;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+
+        assertThrows(CwtCodec.InvalidTokenException.class, () -> codec.decode(tampered));
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key")
+    void testDecode_WrongKey() {
+        CwtCodec other = new CwtCodec("another-key-another-key-another!!".getBytes(StandardCharsets.UTF_8), ISSUER);
+
+        assertThrows(CwtCodec.InvalidTokenException.class, () -> codec.decode(other.encode(claims(3600))));
+    }
+
+    @Test
+    @DisplayName("Should reject a token from another issuer")
+    void testDecode_WrongIssuer() {
+        CwtCodec other = new CwtCodec(KEY, "someone-else");
+
+        assertThrows(CwtCodec.InvalidTokenException.class, () -> codec.decode(other.encode(claims(3600))));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void testDecode_Expired() {
+        assertThrows(CwtCodec.InvalidTokenException.class, () -> codec.decode(codec.encode(claims(-1))));
+    }
+
+    @Test
+    @DisplayName("Should reject garbage and truncated input")
+    void testDecode_Malformed() {
+        String token = codec.encode(claims(3600));
+
+        assertThrows(CwtCodec.InvalidTokenException.class, () -> codec.decode("not-a-token"));
+        assertThrows(CwtCodec.InvalidTokenException.class, () -> codec.decode(token.substring(0, token.length() / 2)));
+        assertThrows(CwtCodec.InvalidTokenException.class, () -> codec.decode(""));
+    }
+
+    private static CwtCodec.Claims claims(long ttlSeconds) {
+        long now = Instant.now().getEpochSecond();
+        return new CwtCodec.Claims("jane.doe@example.com", 123456L, true, 3L, Set.of("user"),
+                now, now + ttlSeconds);
+    }
+}
@@ -0,0 +1,49 @@
+package org.oppexai.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DomainSet Test Suite")
+class DomainSetTest {
+
+    private final DomainSet domains = DomainSet.of("mailinator.com", "*.guerrillamail.com", "Yopmail.com.");
+
+    @Test
+    @DisplayName("Should match listed domains case-insensitively")
+    void testContainsDomainOf_ExactMatch() {
+        assertTrue(domains.containsDomainOf("bot@mailinator.com"));
+        assertTrue(domains.containsDomainOf("bot@MAILINATOR.COM"));
+        assertTrue(domains.containsDomainOf("bot@guerrillamail.com"));
+        assertTrue(domains.containsDomainOf("bot@yopmail.com"));
+    }
+
+    @Test
+    @DisplayName("Should match subdomains of listed domains but not look-alikes or parents")
+    void testContainsDomainOf_Suffixes() {
+        assertTrue(domains.containsDomainOf("bot@a.b.mailinator.com"));
+        assertFalse(domains.containsDomainOf("user@notmailinator.com"));
+        assertFalse(domains.containsDomainOf("user@com"));
+        assertFalse(domains.containsDomainOf("user@gmail.com"));
+    }
+
+    @Test
+    @DisplayName("Should not match malformed addresses")
+    void testContainsDomainOf_Malformed() {
+        assertFalse(domains.containsDomainOf("mailinator.com"));
+        assertFalse(domains.containsDomainOf("user@"));
+    }
+
+    @Test
+    @DisplayName("Should read a list file, skipping comments, blanks and duplicates")
+    void testRead() throws Exception {
+        DomainSet read = DomainSet.read(new StringReader("# comment\n\nmailinator.com\n  MAILINATOR.com \n.sharklasers.com\n"));
+
+        assertEquals(2, read.size());
+        assertTrue(read.containsDomain("mailinator.com"));
+        assertTrue(read.containsDomain("x.sharklasers.com"));
+    }
+}
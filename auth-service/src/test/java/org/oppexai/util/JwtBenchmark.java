@@ -0,0 +1,55 @@
+package org.oppexai.util;
+
+import io.smallrye.jwt.auth.principal.DefaultJWTParser;
+import io.smallrye.jwt.build.Jwt;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The HS256 JWTs JwtUtil issues, built and verified with smallrye-jwt as in production,
+ * for comparison with {@link CwtCodecBenchmark}.
+ */
+@DisplayName("JWT Benchmark")
+class JwtBenchmark {
+
+    private static final int ITERATIONS = 20_000;
+    private static final String ISSUER = "oppex-ai";
+    private static final SecretKey KEY = new SecretKeySpec(
+            "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+
+    private final DefaultJWTParser parser = new DefaultJWTParser();
+
+    @Test
+    @DisplayName("smallrye-jwt HS256 encode and parse+verify")
+    void benchmarkSmallryeJwt() throws Exception {
+        String token = encode();
+        assertEquals("jane.doe@example.com", parser.verify(token, KEY).getName());
+
+        MicroBenchmark.run("JWT HS256 encode (smallrye-jwt)", ITERATIONS, this::encode);
+        MicroBenchmark.run("JWT HS256 parse + verify (smallrye-jwt)", ITERATIONS, () -> {
+            try {
+                return parser.verify(token, KEY);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private String encode() {
+        return Jwt.issuer(ISSUER)
+                .upn("jane.doe@example.com")
+                .claim("userId", 123456L)
+                .claim("email", "jane.doe@example.com")
+                .claim("isVerified", true)
+                .claim("ver", 3L)
+                .groups("user")
+                .expiresIn(3600)
+                .signWithSecret(new String(KEY.getEncoded(), StandardCharsets.UTF_8));
+    }
+}
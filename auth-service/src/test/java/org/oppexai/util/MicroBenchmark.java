@@ -0,0 +1,48 @@
+package org.oppexai.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Minimal JUnit-timed micro-benchmark for the *Benchmark test classes, which only run
+ * with {@code mvn test -Pbenchmark}. Each case is warmed up, then timed over several rounds
+ * and the median ns/op is printed. Good for comparing two code paths on one machine,
+ * not for absolute numbers.
+ */
+public final class MicroBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 7;
+
+    // Results are published here so the JIT cannot drop the measured work
+    private static volatile Object sink;
+
+    private MicroBenchmark() {
+    }
+
+    /**
+     * @return median nanoseconds per call over the measured rounds
+     */
+    public static double run(String name, int iterations, Supplier<?> operation) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            time(iterations, operation);
+        }
+        double[] rounds = new double[MEASURED_ROUNDS];
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            rounds[round] = time(iterations, operation);
+        }
+        Arrays.sort(rounds);
+        double median = rounds[MEASURED_ROUNDS / 2];
+        System.out.printf(Locale.ROOT, "[benchmark] %-48s %12.1f ns/op%n", name, median);
+        return median;
+    }
+
+    private static double time(int iterations, Supplier<?> operation) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = operation.get();
+        }
+        return (double) (System.nanoTime() - start) / iterations;
+    }
+}
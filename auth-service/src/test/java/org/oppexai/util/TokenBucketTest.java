@@ -0,0 +1,51 @@
+package org.oppexai.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenBucket Test Suite")
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then reject")
+    void testTryAcquire_Burst() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(10, 100, clock::get);
+
+        assertTrue(bucket.tryAcquire(100));
+        assertFalse(bucket.tryAcquire(1));
+    }
+
+    @Test
+    @DisplayName("Should take nothing when a multi-permit request does not fit")
+    void testTryAcquire_AllOrNothing() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(10, 100, clock::get);
+
+        assertTrue(bucket.tryAcquire(60));
+        assertFalse(bucket.tryAcquire(50));
+        assertTrue(bucket.tryAcquire(40));
+    }
+
+    @Test
+    @DisplayName("Should refill at the configured rate, capped at capacity")
+    void testTryAcquire_Refill() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(10, 100, clock::get);
+        assertTrue(bucket.tryAcquire(100));
+
+        clock.addAndGet(2 * SECOND);
+        assertTrue(bucket.tryAcquire(20));
+        assertFalse(bucket.tryAcquire(1));
+
+        clock.addAndGet(3600 * SECOND);
+        assertTrue(bucket.tryAcquire(100));
+        assertFalse(bucket.tryAcquire(1));
+    }
+}